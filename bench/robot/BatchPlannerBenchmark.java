@@ -0,0 +1,105 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Plans growing batches of random trips on a 256x256 map with a few
+ * obstacles, with a single worker and with one per processor. The plans
+ * counter reports the throughput in plans per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPlannerBenchmark
+{
+    private static final int SIZE = 256;
+
+    @State(Scope.Benchmark)
+    public static class Batch
+    {
+        @Param({"16", "256", "4096", "65536"})
+        public int trips;
+
+        /**
+         * Number of workers, 0 for one per available processor.
+         */
+        @Param({"1", "0"})
+        public int parallelism;
+
+        private BatchPlanner planner;
+        private Direction[] directions;
+        private Coordinates[] positions;
+        private Coordinates[] destinations;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            Random random = new Random(42);
+            GridMap map = new GridMap(SIZE, SIZE);
+            
+            for(int i = 0; i < SIZE * SIZE / 10; i++)
+            {
+                map.block(random.nextInt(SIZE), random.nextInt(SIZE));
+            }
+            
+            this.planner = this.parallelism == 0
+                ? new BatchPlanner(() -> new JumpPointPlanner(map))
+                : new BatchPlanner(() -> new JumpPointPlanner(map), this.parallelism);
+            this.directions = new Direction[this.trips];
+            this.positions = new Coordinates[this.trips];
+            this.destinations = new Coordinates[this.trips];
+            
+            for(int i = 0; i < this.trips; i++)
+            {
+                this.directions[i] = Direction.values()[random.nextInt(4)];
+                this.positions[i] = new Coordinates(random.nextInt(SIZE), random.nextInt(SIZE));
+                this.destinations[i] = new Coordinates(random.nextInt(SIZE), random.nextInt(SIZE));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            this.planner.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters
+    {
+        public long plans;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            this.plans = 0;
+        }
+    }
+
+    @Benchmark
+    public RoadBook[] plan(Batch batch, Counters counters)
+    {
+        RoadBook[] books = batch.planner.plan(batch.directions, batch.positions, batch.destinations);
+        counters.plans += books.length;
+        
+        return books;
+    }
+}
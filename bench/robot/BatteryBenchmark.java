@@ -0,0 +1,92 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the closed form of {@link Battery#topsToSufficientCharge(float, double)}
+ * with the tick-by-tick loop it replaced, over charge/need pairs spread
+ * across several orders of magnitude.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatteryBenchmark
+{
+    private static final int PAIRS = 1024;
+
+    /**
+     * Order of magnitude of the needed energy (10^exponent).
+     */
+    @Param({"0", "2", "4", "8", "16", "32"})
+    public int exponent;
+
+    private float[] charges;
+    private double[] needs;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        this.charges = new float[PAIRS];
+        this.needs = new double[PAIRS];
+
+        for(int i = 0; i < PAIRS; i++)
+        {
+            this.charges[i] = (float) (random.nextDouble() * 10);
+            this.needs[i] = random.nextDouble() * Math.pow(10, this.exponent);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void closedForm(Blackhole blackhole)
+    {
+        for(int i = 0; i < PAIRS; i++)
+        {
+            blackhole.consume(Battery.topsToSufficientCharge(this.charges[i], this.needs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void simulation(Blackhole blackhole)
+    {
+        for(int i = 0; i < PAIRS; i++)
+        {
+            blackhole.consume(simulate(this.charges[i], this.needs[i]));
+        }
+    }
+
+    /**
+     * The former implementation of {@link Battery#timeToSufficientCharge(double)}.
+     */
+    private static long simulate(float charge, double neededEnergy)
+    {
+        long clock = 0;
+
+        while(charge < neededEnergy)
+        {
+            charge = charge * 1.1f + 1;
+            clock++;
+        }
+
+        return clock;
+    }
+}
@@ -0,0 +1,134 @@
+package robot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Robots drawing from one shared battery while its charge is read, from 1
+ * to 64 threads : one method per thread count, the suffix giving it.
+ * 
+ * The battery is set up on a time source running 100 times faster than
+ * the wall clock, a top every 10 ms, so the lazy recharge applied on each
+ * read races with the draws as it would in a long mission. A fresh battery
+ * is used for each iteration, before its charge overflows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatteryContentionBenchmark
+{
+    private static final TimeSource FAST_CLOCK = new TimeSource()
+    {
+        @Override
+        public long currentTimeMillis()
+        {
+            return System.nanoTime() / 10000;
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException
+        {
+            TimeUnit.NANOSECONDS.sleep(millis * 10000);
+        }
+    };
+
+    private Battery cell;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        this.cell = new Battery(FAST_CLOCK);
+        this.cell.setUp();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown()
+    {
+        this.cell.tearDown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean tryUse1()
+    {
+        return this.tryUse();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean tryUse4()
+    {
+        return this.tryUse();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean tryUse16()
+    {
+        return this.tryUse();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean tryUse64()
+    {
+        return this.tryUse();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public float getChargeLevel1()
+    {
+        return this.cell.getChargeLevel();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public float getChargeLevel4()
+    {
+        return this.cell.getChargeLevel();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public float getChargeLevel16()
+    {
+        return this.cell.getChargeLevel();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public float getChargeLevel64()
+    {
+        return this.cell.getChargeLevel();
+    }
+
+    /**
+     * Draws one unit, or tops the battery up by hand when it is empty.
+     */
+    private boolean tryUse()
+    {
+        if(this.cell.tryUse(1))
+        {
+            return true;
+        }
+
+        this.cell.charge();
+        return false;
+    }
+}
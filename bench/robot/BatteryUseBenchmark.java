@@ -0,0 +1,52 @@
+package robot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-threaded cost of the calls a robot makes on its battery for every
+ * run of moves, the battery charging on a virtual clock.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatteryUseBenchmark
+{
+    private VirtualTimeSource clock;
+    private Battery cell;
+
+    @Setup
+    public void setUp()
+    {
+        this.clock = new VirtualTimeSource();
+        this.cell = new Battery(this.clock);
+        this.cell.setUp();
+    }
+
+    @Benchmark
+    public boolean use()
+    {
+        this.clock.sleep(this.cell.getChargeTop());
+
+        // The charge settles around the used energy instead of growing
+        return this.cell.tryUse(100);
+    }
+
+    @Benchmark
+    public long timeToSufficientCharge()
+    {
+        return this.cell.timeToSufficientCharge(1000);
+    }
+}
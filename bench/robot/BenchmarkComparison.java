@@ -0,0 +1,205 @@
+package robot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv}, benchmark by
+ * benchmark, and fails when one got slower than the baseline by more than a
+ * threshold beyond both error margins.
+ * 
+ * Usage : {@code BenchmarkComparison <baseline.csv> <results.csv> [threshold %]}
+ */
+public class BenchmarkComparison
+{
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length < 2)
+        {
+            System.err.println("Usage: BenchmarkComparison <baseline.csv> <results.csv> [threshold %]");
+            System.exit(2);
+        }
+        
+        Map<String, Result> baseline = read(args[0]);
+        Map<String, Result> results = read(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        int regressions = 0;
+        
+        for(Map.Entry<String, Result> entry : results.entrySet())
+        {
+            Result result = entry.getValue();
+            Result reference = baseline.get(entry.getKey());
+            
+            if(null == reference)
+            {
+                System.out.printf("  new         %s : %s%n", entry.getKey(), result);
+                continue;
+            }
+            
+            // Positive when the benchmark got faster
+            double change = 100 * (result.higherIsBetter()
+                ? result.score / reference.score - 1
+                : reference.score / result.score - 1);
+            boolean significant = Math.abs(result.score - reference.score) > result.error + reference.error;
+            boolean regressed = significant && change < -threshold;
+            
+            if(regressed)
+            {
+                regressions++;
+            }
+            
+            System.out.printf(
+                "%s %+7.1f %%  %s : %s -> %s%n",
+                regressed ? "!" : " ", change, entry.getKey(), reference, result
+            );
+        }
+        
+        System.out.printf("%d benchmarks, %d regressions over %.1f %%%n", results.size(), regressions, threshold);
+        
+        if(regressions > 0)
+        {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return The results of the file, keyed by benchmark, mode and
+     * parameters.
+     */
+    static Map<String, Result> read(String file) throws IOException
+    {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        Map<String, Result> results = new LinkedHashMap<>();
+        
+        if(lines.isEmpty())
+        {
+            return results;
+        }
+        
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        int error = -1;
+        
+        for(int i = 0; i < header.size(); i++)
+        {
+            if(header.get(i).startsWith("Score Error"))
+            {
+                error = i;
+            }
+        }
+        
+        for(String line : lines.subList(1, lines.size()))
+        {
+            if(line.trim().isEmpty())
+            {
+                continue;
+            }
+            
+            List<String> fields = split(line);
+            StringBuilder key = new StringBuilder(fields.get(benchmark)).append(" [").append(fields.get(mode));
+            
+            for(int i = 0; i < header.size(); i++)
+            {
+                if(header.get(i).startsWith("Param: ") && !fields.get(i).isEmpty())
+                {
+                    key.append(", ").append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                }
+            }
+            
+            results.put(key.append(']').toString(), new Result(
+                fields.get(mode),
+                parse(fields.get(score)),
+                error < 0 ? 0 : parse(fields.get(error)),
+                fields.get(unit)
+            ));
+        }
+        
+        return results;
+    }
+
+    private static double parse(String value)
+    {
+        // Some locales write a decimal comma
+        return value.isEmpty() || "NaN".equals(value) ? Double.NaN : Double.parseDouble(value.replace(',', '.'));
+    }
+
+    /**
+     * Splits a CSV line, fields being optionally quoted.
+     */
+    private static List<String> split(String line)
+    {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        
+        for(int i = 0; i < line.length(); i++)
+        {
+            char c = line.charAt(i);
+            
+            if(c == '"')
+            {
+                if(quoted && i + 1 < line.length() && line.charAt(i + 1) == '"')
+                {
+                    field.append(c);
+                    i++;
+                }
+                else
+                {
+                    quoted = !quoted;
+                }
+            }
+            else if(c == ',' && !quoted)
+            {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else
+            {
+                field.append(c);
+            }
+        }
+        
+        fields.add(field.toString());
+        
+        return fields;
+    }
+
+    private static class Result
+    {
+        private final String mode;
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        private Result(String mode, double score, double error, String unit)
+        {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+
+        /**
+         * @return Whether the mode measures operations per time unit.
+         */
+        private boolean higherIsBetter()
+        {
+            return "thrpt".equals(this.mode);
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%.3f +/- %.3f %s", this.score, this.error, this.unit);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package robot;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Robots waiting for the energy of their next move on one shared battery,
+ * from 1 to 64 threads : either granted by a {@link ChargingStation}, or
+ * polling the battery and sleeping until it should have charged enough, as
+ * robots without a station do. One method per mode and thread count, the
+ * suffix giving the count.
+ *
+ * Both modes are bound by the charge rate : the sampled times compare how
+ * fairly and how promptly the energy is handed out. The battery is set up
+ * on a time source running 100 times faster than the wall clock, a top
+ * every 10 ms, and a fresh one is used for each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChargingStationBenchmark
+{
+    private static final TimeSource FAST_CLOCK = new TimeSource()
+    {
+        @Override
+        public long currentTimeMillis()
+        {
+            return System.nanoTime() / 10000;
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException
+        {
+            TimeUnit.NANOSECONDS.sleep(millis * 10000);
+        }
+    };
+
+    /**
+     * Energy of a move.
+     */
+    private static final double ENERGY = 1;
+
+    private ScheduledExecutorService timer;
+    private Battery cell;
+    private ChargingStation station;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        this.timer = Executors.newSingleThreadScheduledExecutor();
+        this.cell = new Battery(FAST_CLOCK);
+        this.cell.setUp();
+        this.station = new ChargingStation(
+            this.cell,
+            (task, delay) -> this.timer.schedule(task, delay * 10000, TimeUnit.NANOSECONDS),
+            FAST_CLOCK,
+            1000
+        );
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown()
+    {
+        this.timer.shutdownNow();
+        this.cell.tearDown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void granted1() throws InterruptedException, ExecutionException
+    {
+        this.station.reserve(ENERGY).get();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void granted4() throws InterruptedException, ExecutionException
+    {
+        this.station.reserve(ENERGY).get();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void granted16() throws InterruptedException, ExecutionException
+    {
+        this.station.reserve(ENERGY).get();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void granted64() throws InterruptedException, ExecutionException
+    {
+        this.station.reserve(ENERGY).get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void polled1() throws InterruptedException
+    {
+        this.poll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void polled4() throws InterruptedException
+    {
+        this.poll();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void polled16() throws InterruptedException
+    {
+        this.poll();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void polled64() throws InterruptedException
+    {
+        this.poll();
+    }
+
+    /**
+     * Draws the energy, sleeping until the battery should hold it whenever
+     * another thread got it first.
+     */
+    private void poll() throws InterruptedException
+    {
+        while(!this.cell.tryUse(ENERGY))
+        {
+            FAST_CLOCK.sleep(Math.max(1, this.cell.timeToSufficientCharge(ENERGY)));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link LandSensor#distance(long, long)} with the Math.pow formula
+ * it replaced, on unit steps like the robot moves and on random segments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceBenchmark
+{
+    private static final int PAIRS = 1024;
+
+    /**
+     * Unit steps, or segments of up to 1000 cells on each axis.
+     */
+    @Param({"steps", "segments"})
+    public String segments;
+
+    private LandSensor sensor;
+    private long[] from;
+    private long[] to;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        this.sensor = new LandSensor(random);
+        this.from = new long[PAIRS];
+        this.to = new long[PAIRS];
+
+        for(int i = 0; i < PAIRS; i++)
+        {
+            int x = random.nextInt(2001) - 1000;
+            int y = random.nextInt(2001) - 1000;
+            this.from[i] = Coordinates.pack(x, y);
+            this.to[i] = "steps".equals(this.segments)
+                ? MapTools.nextForwardPosition(this.from[i], Direction.values()[random.nextInt(4)])
+                : Coordinates.pack(x + random.nextInt(2001) - 1000, y + random.nextInt(2001) - 1000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void distance(Blackhole blackhole)
+    {
+        for(int i = 0; i < PAIRS; i++)
+        {
+            blackhole.consume(this.sensor.distance(this.from[i], this.to[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void pow(Blackhole blackhole)
+    {
+        for(int i = 0; i < PAIRS; i++)
+        {
+            blackhole.consume(pow(this.from[i], this.to[i]));
+        }
+    }
+
+    /**
+     * The former implementation of {@link LandSensor#distance(Coordinates, Coordinates)}.
+     */
+    private static double pow(long position1, long position2)
+    {
+        return Math.sqrt(Math.pow(Coordinates.xOf(position1) - Coordinates.xOf(position2), 2) + Math.pow(Coordinates.yOf(position1) - Coordinates.yOf(position2), 2));
+    }
+}
@@ -0,0 +1,59 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scores candidate road books of a few hundred moves on a seeded terrain, as
+ * a dispatcher would before picking one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnergyBudgetBenchmark
+{
+    private static final int CANDIDATES = 64;
+
+    private EnergyBudgetEstimator estimator;
+    private RoadBook[] candidates;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        this.estimator = new EnergyBudgetEstimator(new TerrainLandSensor(42), 1);
+        this.candidates = new RoadBook[CANDIDATES];
+
+        for(int i = 0; i < CANDIDATES; i++)
+        {
+            this.candidates[i] = RoadBookCalculator.calculateRoadBook(
+                Direction.NORTH,
+                new Coordinates(0, 0),
+                new Coordinates(random.nextInt(401) - 200, random.nextInt(401) - 200),
+                InstructionCosts.UNIT
+            );
+        }
+    }
+
+    @Benchmark
+    public EnergyBudget estimate()
+    {
+        RoadBook candidate = this.candidates[this.next++ & (CANDIDATES - 1)];
+
+        return this.estimator.estimate(candidate, new Coordinates(0, 0), Direction.NORTH, 100f, 1000);
+    }
+}
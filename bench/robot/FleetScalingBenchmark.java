@@ -0,0 +1,114 @@
+package robot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a fleet of robots following 64 instructions each on a fixed terrain,
+ * with a growing number of workers. The instructions counter reports the
+ * throughput in instructions per second, to compare from one number of
+ * workers to the next on the host running it.
+ *
+ * Moves consume no energy, so that no robot ever waits for its battery and
+ * the runs only measure the work the workers share.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetScalingBenchmark
+{
+    private static final int INSTRUCTIONS = 64;
+
+    @State(Scope.Benchmark)
+    public static class Fleets
+    {
+        @Param({"1", "2", "4", "8", "16"})
+        public int parallelism;
+
+        @Param({"1000", "10000"})
+        public int robots;
+
+        private FleetExecutor executor;
+        private Fleet fleet;
+        private final List<RoadBook> roadBooks = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp() throws UnlandedRobotException
+        {
+            LandSensor sensor = new TerrainLandSensor(42);
+            List<Instruction> instructions = new ArrayList<>();
+
+            // Squares of side 4, back to the start every 16 instructions
+            for(int i = 0; i < INSTRUCTIONS; i++)
+            {
+                instructions.add(i % 4 == 3 ? Instruction.TURNRIGHT : Instruction.FORWARD);
+            }
+
+            this.executor = new FleetExecutor(this.parallelism);
+            this.fleet = new Fleet();
+
+            for(int i = 0; i < this.robots; i++)
+            {
+                Robot robot = new Robot(0, new Battery(), sensor);
+                robot.land(new Coordinates(i % 1000 * 8, i / 1000 * 8));
+                RoadBook roadBook = new RoadBook(instructions);
+                this.roadBooks.add(roadBook);
+                this.fleet.add(robot, roadBook);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void rewind()
+        {
+            for(RoadBook roadBook : this.roadBooks)
+            {
+                roadBook.rewind();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            this.executor.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters
+    {
+        public long instructions;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            this.instructions = 0;
+        }
+    }
+
+    @Benchmark
+    public FleetReport run(Fleets fleets, Counters counters)
+    {
+        FleetReport report = fleets.executor.run(fleets.fleet);
+        counters.instructions += report.getExecutedInstructions();
+
+        return report;
+    }
+}
@@ -0,0 +1,78 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Plans across a 1000x1000 map, from one corner to the opposite one, with
+ * obstacles scattered at random.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridPlannerBenchmark
+{
+    private static final int SIZE = 1000;
+
+    /**
+     * Probability for a cell to be blocked.
+     */
+    @Param({"0", "0.1", "0.2"})
+    public double density;
+
+    private AStarPlanner aStar;
+    private JumpPointPlanner jumpPoint;
+    private Coordinates position;
+    private Coordinates destination;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        GridMap map = new GridMap(SIZE, SIZE);
+
+        for(int x = 0; x < SIZE; x++)
+        {
+            for(int y = 0; y < SIZE; y++)
+            {
+                if(random.nextDouble() < this.density)
+                {
+                    map.block(x, y);
+                }
+            }
+        }
+
+        this.position = new Coordinates(0, 0);
+        this.destination = new Coordinates(SIZE - 1, SIZE - 1);
+        map.unblock(0, 0);
+        map.unblock(SIZE - 1, SIZE - 1);
+        this.aStar = new AStarPlanner(map);
+        this.jumpPoint = new JumpPointPlanner(map);
+    }
+
+    @Benchmark
+    public RoadBook aStar() throws UnreachableDestinationException
+    {
+        return this.aStar.plan(Direction.NORTH, this.position, this.destination);
+    }
+
+    @Benchmark
+    public RoadBook jumpPoint() throws UnreachableDestinationException
+    {
+        return this.jumpPoint.plan(Direction.NORTH, this.position, this.destination);
+    }
+}
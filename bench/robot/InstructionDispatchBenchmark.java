@@ -0,0 +1,161 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static robot.Direction.*;
+
+/**
+ * Dispatches a random instruction sequence on a packed position, with the
+ * direction tables of {@link MapTools} and with the if-chains they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstructionDispatchBenchmark
+{
+    private static final int INSTRUCTIONS = 4096;
+
+    private Instruction[] instructions;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        Instruction[] values = Instruction.values();
+        this.instructions = new Instruction[INSTRUCTIONS];
+
+        for(int i = 0; i < INSTRUCTIONS; i++)
+        {
+            this.instructions[i] = values[random.nextInt(values.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTRUCTIONS)
+    public long tables()
+    {
+        long position = 0;
+        Direction direction = NORTH;
+
+        for(Instruction instruction : this.instructions)
+        {
+            switch(instruction)
+            {
+                case FORWARD:
+                    position = MapTools.nextForwardPosition(position, direction);
+                    break;
+                case BACKWARD:
+                    position = MapTools.nextBackwardPosition(position, direction);
+                    break;
+                case TURNLEFT:
+                    direction = MapTools.counterclockwise(direction);
+                    break;
+                default:
+                    direction = MapTools.clockwise(direction);
+                    break;
+            }
+        }
+
+        return position ^ direction.ordinal();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTRUCTIONS)
+    public long ifChains()
+    {
+        long position = 0;
+        Direction direction = NORTH;
+
+        for(Instruction instruction : this.instructions)
+        {
+            switch(instruction)
+            {
+                case FORWARD:
+                    position = forward(position, direction, 1);
+                    break;
+                case BACKWARD:
+                    position = forward(position, direction, -1);
+                    break;
+                case TURNLEFT:
+                    direction = counterclockwise(direction);
+                    break;
+                default:
+                    direction = clockwise(direction);
+                    break;
+            }
+        }
+
+        return position ^ direction.ordinal();
+    }
+
+    /**
+     * The former MapTools moves and rotations.
+     */
+    private static long forward(long position, Direction direction, int step)
+    {
+        int x = Coordinates.xOf(position);
+        int y = Coordinates.yOf(position);
+        if(direction == NORTH)
+        {
+            return Coordinates.pack(x, y + step);
+        }
+        if(direction == SOUTH)
+        {
+            return Coordinates.pack(x, y - step);
+        }
+        if(direction == EAST)
+        {
+            return Coordinates.pack(x + step, y);
+        }
+        return Coordinates.pack(x - step, y);
+    }
+
+    private static Direction counterclockwise(Direction direction)
+    {
+        if(direction == NORTH)
+        {
+            return WEST;
+        }
+        if(direction == WEST)
+        {
+            return SOUTH;
+        }
+        if(direction == SOUTH)
+        {
+            return EAST;
+        }
+        return NORTH;
+    }
+
+    private static Direction clockwise(Direction direction)
+    {
+        if(direction == NORTH)
+        {
+            return EAST;
+        }
+        if(direction == EAST)
+        {
+            return SOUTH;
+        }
+        if(direction == SOUTH)
+        {
+            return WEST;
+        }
+        return NORTH;
+    }
+}
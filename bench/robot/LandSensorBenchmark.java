@@ -0,0 +1,64 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Rates unit steps with {@link LandSensor#getPointToPointEnergyCoefficient(long, long)},
+ * for the random sensor and the seeded terrain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LandSensorBenchmark
+{
+    private static final int STEPS = 1024;
+
+    @Param({"random", "terrain"})
+    public String sensorType;
+
+    private LandSensor sensor;
+    private long[] from;
+    private long[] to;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        this.sensor = "terrain".equals(this.sensorType) ? new TerrainLandSensor(42) : new LandSensor(new Random(42));
+        this.from = new long[STEPS];
+        this.to = new long[STEPS];
+
+        for(int i = 0; i < STEPS; i++)
+        {
+            this.from[i] = Coordinates.pack(random.nextInt(2001) - 1000, random.nextInt(2001) - 1000);
+            this.to[i] = MapTools.nextForwardPosition(this.from[i], Direction.values()[random.nextInt(4)]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public void getPointToPointEnergyCoefficient(Blackhole blackhole)
+    {
+        for(int i = 0; i < STEPS; i++)
+        {
+            blackhole.consume(this.sensor.getPointToPointEnergyCoefficient(this.from[i], this.to[i]));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package robot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Walks a spiral on a seeded terrain, rating each step with the sensor, with
+ * {@link Coordinates} objects and with packed positions. Run with
+ * {@code -prof gc} : the packed walk should not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovementBenchmark
+{
+    private static final int STEPS = 4096;
+
+    private TerrainLandSensor sensor;
+
+    @Setup
+    public void setUp()
+    {
+        this.sensor = new TerrainLandSensor(42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public double coordinates()
+    {
+        Coordinates position = new Coordinates(0, 0);
+        Direction direction = Direction.NORTH;
+        double energy = 0;
+
+        for(int step = 1; step <= STEPS; step++)
+        {
+            Coordinates next = MapTools.nextForwardPosition(position, direction);
+            energy += this.sensor.getPointToPointEnergyCoefficient(position, next);
+            position = next;
+
+            if(Integer.bitCount(step) == 1)
+            {
+                direction = MapTools.clockwise(direction);
+            }
+        }
+
+        return energy;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public double packed()
+    {
+        long position = Coordinates.pack(0, 0);
+        Direction direction = Direction.NORTH;
+        double energy = 0;
+
+        for(int step = 1; step <= STEPS; step++)
+        {
+            long next = MapTools.nextForwardPosition(position, direction);
+            energy += this.sensor.getPointToPointEnergyCoefficient(position, next);
+            position = next;
+
+            if(Integer.bitCount(step) == 1)
+            {
+                direction = MapTools.clockwise(direction);
+            }
+        }
+
+        return energy;
+    }
+}
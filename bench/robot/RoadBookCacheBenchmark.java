@@ -0,0 +1,83 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Plans shuttle trips, a few displacements repeated from random positions,
+ * through the cache and straight through the calculator, on 4 threads
+ * sharing the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RoadBookCacheBenchmark
+{
+    private static final int TRIPS = 1024;
+
+    /**
+     * Number of distinct displacements among the trips.
+     */
+    @Param({"16", "1024"})
+    public int displacements;
+
+    private final Direction[] directions = new Direction[TRIPS];
+    private final Coordinates[] positions = new Coordinates[TRIPS];
+    private final Coordinates[] destinations = new Coordinates[TRIPS];
+    private RoadBookCache cache;
+    private ManhattanPlanner planner;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        
+        for(int i = 0; i < TRIPS; i++)
+        {
+            int shuttle = random.nextInt(this.displacements);
+            Random displacement = new Random(shuttle);
+            this.directions[i] = Direction.values()[shuttle & 3];
+            this.positions[i] = new Coordinates(random.nextInt(2001) - 1000, random.nextInt(2001) - 1000);
+            this.destinations[i] = new Coordinates(
+                this.positions[i].getX() + displacement.nextInt(41) - 20,
+                this.positions[i].getY() + displacement.nextInt(41) - 20
+            );
+        }
+        
+        this.planner = new ManhattanPlanner();
+        this.cache = new RoadBookCache(this.planner, 4096);
+    }
+
+    @Benchmark
+    public RoadBook cached() throws UnreachableDestinationException
+    {
+        int i = this.next++ & (TRIPS - 1);
+        
+        return this.cache.plan(this.directions[i], this.positions[i], this.destinations[i]);
+    }
+
+    @Benchmark
+    public RoadBook calculated()
+    {
+        int i = this.next++ & (TRIPS - 1);
+        
+        return this.planner.plan(this.directions[i], this.positions[i], this.destinations[i]);
+    }
+}
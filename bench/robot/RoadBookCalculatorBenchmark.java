@@ -0,0 +1,50 @@
+package robot;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Plans trips of growing length with
+ * {@link RoadBookCalculator#calculateRoadBook(Direction, Coordinates, Coordinates)} :
+ * the time should not depend on the distance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoadBookCalculatorBenchmark
+{
+    /**
+     * Manhattan distance of the trip, in cells.
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int distance;
+
+    private Coordinates position;
+    private Coordinates destination;
+
+    @Setup
+    public void setUp()
+    {
+        this.position = new Coordinates(0, 0);
+        this.destination = new Coordinates(-this.distance / 2, -(this.distance - this.distance / 2));
+    }
+
+    @Benchmark
+    public RoadBook calculateRoadBook()
+    {
+        return RoadBookCalculator.calculateRoadBook(Direction.NORTH, this.position, this.destination);
+    }
+}
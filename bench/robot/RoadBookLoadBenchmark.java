@@ -0,0 +1,86 @@
+package robot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads a road book file of a few million steps, alone and followed to its
+ * end, in both encodings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoadBookLoadBenchmark
+{
+    @Param({"4000000"})
+    public int steps;
+
+    @Param({"PACKED", "RUN_LENGTH"})
+    public RoadBookFiles.Encoding encoding;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        Random random = new Random(42);
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        
+        for(int written = 0; written < this.steps; )
+        {
+            int leg = 1 + random.nextInt(200);
+            book.append(Instruction.FORWARD, leg);
+            book.append(random.nextBoolean() ? Instruction.TURNLEFT : Instruction.TURNRIGHT, 1);
+            written += leg + 1;
+        }
+        
+        this.file = Files.createTempFile("bench", ".roadbook");
+        RoadBookFiles.write(this.file, new Coordinates(0, 0), Direction.NORTH, book, this.encoding);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        Files.delete(this.file);
+    }
+
+    @Benchmark
+    public BufferRoadBook load() throws IOException
+    {
+        return RoadBookFiles.map(this.file);
+    }
+
+    @Benchmark
+    public long loadAndFollow() throws IOException
+    {
+        BufferRoadBook book = RoadBookFiles.map(this.file);
+        long steps = 0;
+        
+        while(book.hasInstruction())
+        {
+            Instruction instruction = book.next();
+            steps += 1 + book.skipRepeats(instruction);
+        }
+        
+        return steps;
+    }
+}
@@ -0,0 +1,91 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the right-turns-only road books with the cheapest ones over
+ * random start/target pairs. The instructions counter counts the planned
+ * instructions as operations : it is reported like the primary result, in
+ * time per planned instruction, so that road books of different lengths
+ * compare on the same footing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoadBookPlanningBenchmark
+{
+    private static final int PAIRS = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Trips
+    {
+        private final Direction[] directions = new Direction[PAIRS];
+        private final Coordinates[] positions = new Coordinates[PAIRS];
+        private final Coordinates[] destinations = new Coordinates[PAIRS];
+
+        @Setup
+        public void setUp()
+        {
+            Random random = new Random(42);
+
+            for(int i = 0; i < PAIRS; i++)
+            {
+                this.directions[i] = Direction.values()[random.nextInt(4)];
+                this.positions[i] = new Coordinates(random.nextInt(201) - 100, random.nextInt(201) - 100);
+                this.destinations[i] = new Coordinates(random.nextInt(201) - 100, random.nextInt(201) - 100);
+            }
+        }
+    }
+
+    /**
+     * Counters of the iteration, which JMH requires reset before each one.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters
+    {
+        public long instructions;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            this.instructions = 0;
+        }
+    }
+
+    @Benchmark
+    public RoadBook rightTurnsOnly(Trips trips, Counters counters)
+    {
+        int i = counters.next++ & (PAIRS - 1);
+        RunLengthRoadBook book = (RunLengthRoadBook) RoadBookCalculator.calculateRoadBook(trips.directions[i], trips.positions[i], trips.destinations[i]);
+        counters.instructions += book.size();
+
+        return book;
+    }
+
+    @Benchmark
+    public RoadBook cheapest(Trips trips, Counters counters)
+    {
+        int i = counters.next++ & (PAIRS - 1);
+        RunLengthRoadBook book = (RunLengthRoadBook) RoadBookCalculator.calculateRoadBook(trips.directions[i], trips.positions[i], trips.destinations[i], InstructionCosts.UNIT);
+        counters.instructions += book.size();
+
+        return book;
+    }
+}
@@ -0,0 +1,95 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Follows large road books with {@link Robot#letsGo()} on a seeded terrain.
+ * The battery never runs out, so the robot never sleeps and only the
+ * dispatch, the sensor and the energy bookkeeping are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RobotBenchmark
+{
+    /**
+     * Number of instructions of the road book.
+     */
+    @Param({"1000", "100000"})
+    public int instructions;
+
+    /**
+     * Longest run of identical instructions : 1 for a road book mixing every
+     * instruction, more for runs the robot fuses.
+     */
+    @Param({"1", "16"})
+    public int runLength;
+
+    private Robot robot;
+    private RunLengthRoadBook book;
+
+    @Setup
+    public void setUp() throws UnlandedRobotException
+    {
+        Random random = new Random(42);
+        this.robot = new Robot(1, new StubBattery(), new TerrainLandSensor(42), TimeSource.SYSTEM);
+        this.robot.land(new Coordinates(0, 0));
+        this.book = new RunLengthRoadBook();
+
+        for(int count = 0; count < this.instructions; )
+        {
+            int run = Math.min(1 + random.nextInt(this.runLength), this.instructions - count);
+            this.book.append(Instruction.values()[random.nextInt(4)], run);
+            count += run;
+        }
+    }
+
+    @Benchmark
+    public long letsGo() throws Exception
+    {
+        this.book.rewind();
+        this.robot.setRoadBook(this.book);
+        this.robot.letsGo();
+
+        return this.robot.getExecutedInstructions();
+    }
+
+    /**
+     * Battery always holding enough energy.
+     */
+    private static class StubBattery extends Battery
+    {
+        @Override
+        public float getChargeLevel()
+        {
+            return Float.MAX_VALUE;
+        }
+
+        @Override
+        public boolean tryUse(double energy)
+        {
+            return true;
+        }
+
+        @Override
+        public long timeToSufficientCharge(double neededEnergy)
+        {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package robot;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Follows a random road book on a seeded terrain and a virtual clock, with
+ * and without metrics, to measure the cost of recording them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RobotMetricsBenchmark
+{
+    @Param({"false", "true"})
+    public boolean recorded;
+
+    private Robot robot;
+    private RunLengthRoadBook book;
+
+    @Setup
+    public void setUp() throws UnlandedRobotException
+    {
+        Random random = new Random(42);
+        VirtualTimeSource clock = new VirtualTimeSource();
+        this.robot = new Robot(1, new Battery(clock), new TerrainLandSensor(42), clock);
+        this.robot.land(new Coordinates(0, 0));
+        this.book = new RunLengthRoadBook();
+
+        for(int run = 0; run < 256; run++)
+        {
+            this.book.append(Instruction.values()[random.nextInt(4)], 1 + random.nextInt(8));
+        }
+
+        if(this.recorded)
+        {
+            this.robot.setMetrics(new RobotMetrics());
+        }
+    }
+
+    @Benchmark
+    public long letsGo() throws Exception
+    {
+        this.book.rewind();
+        this.robot.setRoadBook(this.book);
+        this.robot.letsGo();
+
+        return this.robot.getExecutedInstructions();
+    }
+}
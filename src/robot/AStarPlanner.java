@@ -0,0 +1,91 @@
+package robot;
+
+/**
+ * A* search on a {@link GridMap}, moving from a cell to its four neighbours.
+ * 
+ * Ties between cells of equal estimated cost are broken in favour of the
+ * ones closest to the destination, so that open areas are crossed without
+ * exploring every equivalent path.
+ */
+public class AStarPlanner extends GridPlanner
+{
+    public AStarPlanner(GridMap map)
+    {
+        super(map);
+    }
+
+    @Override
+    protected boolean search(int start, int goal)
+    {
+        this.reach(start, 0, start);
+        this.open.push(start, this.estimate(start, goal), this.estimate(start, goal));
+        
+        while(!this.open.isEmpty())
+        {
+            int node = this.open.pop();
+            
+            if(this.isClosed(node))
+            {
+                continue;
+            }
+            
+            if(node == goal)
+            {
+                return true;
+            }
+            
+            this.close(node);
+            int x = this.map.xOf(node);
+            int y = this.map.yOf(node);
+            
+            for(int heading = 0; heading < 4; heading++)
+            {
+                int nextX = x + DX[heading];
+                int nextY = y + DY[heading];
+                
+                if(this.map.isBlocked(nextX, nextY))
+                {
+                    continue;
+                }
+                
+                int next = this.map.indexOf(nextX, nextY);
+                
+                if(this.isClosed(next))
+                {
+                    continue;
+                }
+                
+                double cost = this.costs[node] + this.stepCost(node, next, heading);
+                
+                if(!this.isReached(next) || cost < this.costs[next])
+                {
+                    this.reach(next, cost, node);
+                    double estimate = this.estimate(next, goal);
+                    this.open.push(next, cost + estimate, estimate);
+                }
+            }
+        }
+        
+        return false;
+    }
+
+    /**
+     * @param from The cell left.
+     * @param to The neighbouring cell reached.
+     * @param heading The ordinal of the direction of the move.
+     * @return The cost of the move, 1 by default.
+     */
+    protected double stepCost(int from, int to, int heading)
+    {
+        return 1;
+    }
+
+    /**
+     * @return A lower bound of the cost from the cell to the goal, the
+     * Manhattan distance by default.
+     */
+    protected double estimate(int node, int goal)
+    {
+        return this.distance(node, goal);
+    }
+}
@@ -0,0 +1,147 @@
+package robot;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Plans the road books of many robots at once on a fork-join pool, for
+ * instance every destination given to a fleet on a dispatching tick.
+ * 
+ * Batches are split in halves down to chunks of {@link #CHUNK_SIZE} trips.
+ * Planners such as {@link GridPlanner} keep their scratch buffers between
+ * searches and are not thread-safe : each chunk borrows an idle planner for
+ * its trips and gives it back, a new one being created only when all are
+ * busy. No more planners are created than chunks run at once, one per
+ * worker, and they belong to the batch planner rather than to the worker
+ * threads, which the pool may retire and replace.
+ */
+public class BatchPlanner implements AutoCloseable
+{
+    /**
+     * Number of trips below which a batch is planned without being split.
+     */
+    static final int CHUNK_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final Supplier<RoadBookPlanner> planners;
+
+    /**
+     * The planners not used by any chunk.
+     */
+    private final ConcurrentLinkedQueue<RoadBookPlanner> idlePlanners = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a batch planner with one worker per available processor.
+     * 
+     * @param planners Creates the planners, one per worker at most.
+     */
+    public BatchPlanner(Supplier<RoadBookPlanner> planners)
+    {
+        this(planners, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param planners Creates the planners, one per worker at most.
+     * @param parallelism The number of worker threads.
+     */
+    public BatchPlanner(Supplier<RoadBookPlanner> planners, int parallelism)
+    {
+        this.pool = new ForkJoinPool(parallelism);
+        this.planners = planners;
+    }
+
+    /**
+     * Plans a road book per trip, the i-th trip leading from positions[i],
+     * facing directions[i], to destinations[i].
+     * 
+     * @param directions The initial directions of the robots.
+     * @param positions The initial positions of the robots.
+     * @param destinations The positions to reach.
+     * @return The road book of each trip, null where the planner finds no
+     * path to the destination.
+     */
+    public RoadBook[] plan(Direction[] directions, Coordinates[] positions, Coordinates[] destinations)
+    {
+        if(directions.length != positions.length || positions.length != destinations.length)
+        {
+            throw new IllegalArgumentException("The trips must have as many directions, positions and destinations");
+        }
+        
+        RoadBook[] books = new RoadBook[directions.length];
+        this.pool.invoke(new Chunk(directions, positions, destinations, books, 0, books.length));
+        
+        return books;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close()
+    {
+        this.pool.shutdown();
+    }
+
+    private class Chunk extends RecursiveAction
+    {
+        private final Direction[] directions;
+        private final Coordinates[] positions;
+        private final Coordinates[] destinations;
+        private final RoadBook[] books;
+        private final int from;
+        private final int to;
+
+        private Chunk(Direction[] directions, Coordinates[] positions, Coordinates[] destinations, RoadBook[] books, int from, int to)
+        {
+            this.directions = directions;
+            this.positions = positions;
+            this.destinations = destinations;
+            this.books = books;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(this.to - this.from > CHUNK_SIZE)
+            {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                    new Chunk(this.directions, this.positions, this.destinations, this.books, this.from, middle),
+                    new Chunk(this.directions, this.positions, this.destinations, this.books, middle, this.to)
+                );
+                
+                return;
+            }
+            
+            RoadBookPlanner planner = BatchPlanner.this.idlePlanners.poll();
+            
+            if(null == planner)
+            {
+                planner = BatchPlanner.this.planners.get();
+            }
+            
+            try
+            {
+                for(int i = this.from; i < this.to; i++)
+                {
+                    try
+                    {
+                        this.books[i] = planner.plan(this.directions[i], this.positions[i], this.destinations[i]);
+                    }
+                    catch(UnreachableDestinationException e)
+                    {
+                        this.books[i] = null;
+                    }
+                }
+            }
+            finally
+            {
+                BatchPlanner.this.idlePlanners.offer(planner);
+            }
+        }
+    }
+}
@@ -1,24 +1,77 @@
 package robot;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Batterie pouvant etre partagee entre plusieurs robots : le niveau de charge
+ * et les tops de recharge deja appliques sont mis a jour ensemble par
+ * compare-and-set, sans verrou.
+ */
 public class Battery
 {
     /**
-     * Niveau de charge de la batterie
+     * Niveau de charge de la batterie (bits du float, 32 bits de poids faible)
+     * et nombre de tops de recharge deja appliques depuis setUp() (32 bits de
+     * poids fort, soit plus d'un siecle de recharge).
      */
-    private float chargeLevel;
+    private final AtomicLong state;
     private final long CHARGE_TOP = 1000;
 
+    /**
+     * Facteur multiplicatif et point fixe de chargeFunction, utilises par la
+     * forme close c(n) = (c(0) - point fixe) * facteur^n + point fixe pour
+     * estimer le nombre de tops de topsToSufficientCharge().
+     */
+    private static final double CHARGE_FACTOR = 1.1f;
+    private static final double CHARGE_FIXED_POINT = -1 / (CHARGE_FACTOR - 1);
+    private static final double LOG_CHARGE_FACTOR = Math.log(CHARGE_FACTOR);
+
+    /**
+     * Ecart maximal (en tops) toleres entre la forme close et la suite
+     * flottante. Au dela de ce voisinage d'un nombre entier de tops, la forme
+     * close suffit ; en deca, la suite est rejouee pour respecter son arrondi.
+     * L'ecart observe ne depasse pas 4e-5 top avant que la charge ne deborde.
+     */
+    private static final double TOPS_ROUNDING_MARGIN = 1e-3;
+
+    /**
+     * Recharge automatique active (entre setUp() et tearDown()).
+     */
+    private volatile boolean isCharging;
+
+    /**
+     * Instant (ms) de la mise en route de la recharge automatique.
+     */
+    private volatile long setUpTime;
+
+    /**
+     * Source du temps compte par la recharge automatique.
+     */
+    private final TimeSource timeSource;
+
     public Battery()
     {
-        chargeLevel = 100;
+        this(TimeSource.SYSTEM);
+    }
+
+    /**
+     * @param timeSource source du temps rythmant les tops de recharge (temps
+     * reel ou simule)
+     */
+    public Battery(TimeSource timeSource)
+    {
+        this.state = new AtomicLong(state(0, 100));
+        this.timeSource = timeSource;
     }
 
     public void charge()
     {
-        chargeLevel = chargeFunction(chargeLevel);
+        long current;
+        do
+        {
+            current = synchronizeCharge();
+        }
+        while(!state.compareAndSet(current, state(topsOf(current), chargeFunction(chargeOf(current)))));
     }
 
     private static float chargeFunction(float charge)
@@ -27,28 +80,70 @@ public class Battery
     }
 
     /**
-     * Au landing du robot, la batterie se recharge automatiquement toutes les
-     * CHARGE_TOP ms.
+     * Niveau de charge atteint apres un nombre donne de tops de recharge.
+     * La suite est rejouee top par top, pour rester identique a l'arrondi
+     * flottant de chargeFunction, jusqu'a ce qu'elle n'evolue plus : la
+     * charge deborde vers l'infini en un millier de tops au plus (ou reste
+     * sur le point fixe), le calcul est donc borne quel que soit tops.
+     *
+     * @param charge niveau de charge initial
+     * @param tops nombre de tops de recharge
+     * @return niveau de charge apres tops appels a chargeFunction
      */
-    public void setUp()
+    static float chargeAfter(float charge, long tops)
     {
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask()
+        for(long i = 0; i < tops; i++)
         {
-            //definition de la tache a accomplir
-            @Override
-            public void run()
+            float next = chargeFunction(charge);
+            if(next == charge || Float.isNaN(next))
             {
-                charge();
+                break;
             }
-        }, 0, CHARGE_TOP);
+            charge = next;
+        }
+        return charge;
+    }
+
+    /**
+     * Au landing du robot, la batterie se recharge automatiquement toutes les
+     * CHARGE_TOP ms.
+     * Aucun thread n'est demarre : les tops ecoules depuis l'appel sont
+     * appliques a la lecture du niveau de charge. Un second appel est sans
+     * effet tant que tearDown() n'a pas ete appele.
+     * setUp() et tearDown() se synchronisent entre eux ; les autres methodes
+     * restent sans verrou.
+     */
+    public synchronized void setUp()
+    {
+        if(isCharging)
+        {
+            return;
+        }
+        setUpTime = currentTimeMillis();
+        long current;
+        do
+        {
+            current = state.get();
+        }
+        while(!state.compareAndSet(current, state(0, chargeOf(current))));
+        isCharging = true;
+    }
+
+    /**
+     * Arrete la recharge automatique : le niveau de charge est fige a sa
+     * valeur courante jusqu'au prochain setUp().
+     */
+    public synchronized void tearDown()
+    {
+        synchronizeCharge();
+        isCharging = false;
     }
 
     public float getChargeLevel()
     {
-        return chargeLevel;
+        return chargeOf(synchronizeCharge());
     }
-    
+
     public long getChargeTop()
     {
         return this.CHARGE_TOP;
@@ -64,12 +159,54 @@ public class Battery
      */
     public void use(double energy) throws InsufficientChargeException
     {
-        if(chargeLevel < energy)
+        if(!tryUse(energy))
         {
             throw new InsufficientChargeException();
         }
-        // chargeLevel = (float) energy;
-        chargeLevel -= (float) energy;
+    }
+
+    /**
+     * Verifie la charge et la decharge en une seule operation atomique : deux
+     * robots puisant dans la meme batterie ne peuvent pas la faire passer
+     * sous le niveau requis.
+     *
+     * @param energy valeur prevue de decharge de la batterie
+     * @return true si la batterie a ete dechargee, false si elle n'etait pas
+     * assez chargee (elle est alors laissee intacte)
+     */
+    public boolean tryUse(double energy)
+    {
+        long current;
+        float chargeLevel;
+        do
+        {
+            current = synchronizeCharge();
+            chargeLevel = chargeOf(current);
+            if(chargeLevel < energy)
+            {
+                return false;
+            }
+            // chargeLevel = (float) energy;
+            chargeLevel -= (float) energy;
+        }
+        while(!state.compareAndSet(current, state(topsOf(current), chargeLevel)));
+        return true;
+    }
+
+    /**
+     * Rend a la batterie une energie prelevee par tryUse mais finalement
+     * inutilisee, par exemple pour une demande annulee aupres d'une station.
+     *
+     * @param energy valeur prelevee a rendre
+     */
+    void refund(double energy)
+    {
+        long current;
+        do
+        {
+            current = synchronizeCharge();
+        }
+        while(!state.compareAndSet(current, state(topsOf(current), chargeOf(current) + (float) energy)));
     }
 
     /**
@@ -80,14 +217,114 @@ public class Battery
      */
     public long timeToSufficientCharge(double neededEnergy)
     {
-        int clock = 0;
-        float charge = chargeLevel;
+        long tops = topsToSufficientCharge(getChargeLevel(), neededEnergy);
+        if(tops > Long.MAX_VALUE / CHARGE_TOP)
+        {
+            return Long.MAX_VALUE;
+        }
+        return tops * CHARGE_TOP;
+    }
+
+    /**
+     * Nombre de tops de recharge necessaires pour passer de charge a
+     * neededEnergy, obtenu par la forme close de chargeFunction en temps
+     * constant.
+     * Lorsque neededEnergy tombe au voisinage immediat d'un top, la suite est
+     * rejouee afin de donner exactement le meme resultat que des appels
+     * successifs a chargeFunction (au plus quelques centaines d'iterations,
+     * la charge flottante debordant ensuite vers l'infini).
+     *
+     * @param charge niveau de charge initial
+     * @param neededEnergy niveau de charge a atteindre
+     * @return nombre de tops, Long.MAX_VALUE si la charge ne peut jamais
+     * l'atteindre
+     */
+    static long topsToSufficientCharge(float charge, double neededEnergy)
+    {
+        if(!(charge < neededEnergy))
+        {
+            return 0;
+        }
+        if(charge <= CHARGE_FIXED_POINT)
+        {
+            // La charge ne croit plus : chargeFunction diverge vers -infini
+            return Long.MAX_VALUE;
+        }
+        if(neededEnergy > Float.MAX_VALUE)
+        {
+            return simulateTopsToSufficientCharge(charge, neededEnergy);
+        }
+
+        double tops = Math.log((neededEnergy - CHARGE_FIXED_POINT) / (charge - CHARGE_FIXED_POINT)) / LOG_CHARGE_FACTOR;
+        if(Math.abs(tops - Math.rint(tops)) < TOPS_ROUNDING_MARGIN)
+        {
+            return simulateTopsToSufficientCharge(charge, neededEnergy);
+        }
+        return (long) Math.ceil(tops);
+    }
+
+    private static long simulateTopsToSufficientCharge(float charge, double neededEnergy)
+    {
+        long clock = 0;
         while(charge < neededEnergy)
         {
             charge = chargeFunction(charge);
             clock++;
         }
-        return clock * CHARGE_TOP;
+        return clock;
+    }
+
+    /**
+     * @return instant courant (ms) servant a compter les tops de recharge
+     */
+    protected long currentTimeMillis()
+    {
+        return timeSource.currentTimeMillis();
+    }
+
+    /**
+     * Applique au niveau de charge les tops de recharge ecoules depuis la
+     * derniere lecture. Comme le Timer d'origine, un premier top a lieu des
+     * setUp().
+     *
+     * @return etat a jour de la batterie
+     */
+    private long synchronizeCharge()
+    {
+        while(true)
+        {
+            long current = state.get();
+            if(!isCharging)
+            {
+                return current;
+            }
+            long dueTops = (currentTimeMillis() - setUpTime) / CHARGE_TOP + 1;
+            long appliedTops = topsOf(current);
+            if(dueTops <= appliedTops)
+            {
+                return current;
+            }
+            long next = state(dueTops, chargeAfter(chargeOf(current), dueTops - appliedTops));
+            if(state.compareAndSet(current, next))
+            {
+                return next;
+            }
+        }
+    }
+
+    private static long state(long appliedTops, float chargeLevel)
+    {
+        return appliedTops << 32 | (Float.floatToRawIntBits(chargeLevel) & 0xFFFFFFFFL);
+    }
+
+    private static float chargeOf(long state)
+    {
+        return Float.intBitsToFloat((int) state);
+    }
+
+    private static long topsOf(long state)
+    {
+        return state >>> 32;
     }
 
 }
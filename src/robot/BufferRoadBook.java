@@ -0,0 +1,250 @@
+package robot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * Road book read straight from a buffer in the format of
+ * {@link RoadBookFiles} : loading only checks the header, and the
+ * instructions are decoded as they are followed, without being copied.
+ * 
+ * The checksum of the instructions is only checked by {@link #verify()} :
+ * reading a run of no instruction, which can't be encoded, fails with an
+ * {@link UncheckedIOException} rather than returning garbage.
+ */
+public class BufferRoadBook extends RoadBook
+{
+    private static final Instruction[] INSTRUCTIONS = Instruction.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ByteBuffer payload;
+    private final RoadBookFiles.Encoding encoding;
+    private final Coordinates start;
+    private final Direction direction;
+    private final long length;
+    private final int checksum;
+
+    /**
+     * Index of the next instruction (packed), or of the next run and the
+     * number of instructions of the current one not read yet (run-length).
+     */
+    private long cursor;
+    private Instruction current;
+    private int remaining;
+
+    private BufferRoadBook(ByteBuffer payload, RoadBookFiles.Encoding encoding, Coordinates start, Direction direction, long length, int checksum)
+    {
+        this.payload = payload;
+        this.encoding = encoding;
+        this.start = start;
+        this.direction = direction;
+        this.length = length;
+        this.checksum = checksum;
+    }
+
+    /**
+     * @param buffer The buffer holding a road book from its current position,
+     * left untouched.
+     * @return The road book reading the buffer.
+     * @throws IOException If the buffer doesn't hold a road book.
+     */
+    public static BufferRoadBook wrap(ByteBuffer buffer) throws IOException
+    {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        
+        if(header.remaining() < RoadBookFiles.HEADER_SIZE || header.getInt() != RoadBookFiles.MAGIC)
+        {
+            throw new IOException("Not a road book");
+        }
+        
+        if(header.getShort() != RoadBookFiles.VERSION)
+        {
+            throw new IOException("Unsupported road book version");
+        }
+        
+        int encoding = header.get();
+        int direction = header.get();
+        int x = header.getInt();
+        int y = header.getInt();
+        long length = header.getLong();
+        int checksum = header.getInt();
+        header.getInt();
+        
+        if(encoding < 0 || encoding >= RoadBookFiles.Encoding.values().length || direction < 0 || direction >= DIRECTIONS.length || length < 0)
+        {
+            throw new IOException("Invalid road book header");
+        }
+        
+        RoadBookFiles.Encoding type = RoadBookFiles.Encoding.values()[encoding];
+        long payloadSize = type == RoadBookFiles.Encoding.PACKED
+            ? (length + 31) / 32 * Long.BYTES
+            : length * Integer.BYTES;
+        
+        if(payloadSize > header.remaining())
+        {
+            throw new IOException("Truncated road book");
+        }
+        
+        header.limit(header.position() + (int) payloadSize);
+        
+        return new BufferRoadBook(
+            header.slice().order(ByteOrder.LITTLE_ENDIAN), type, new Coordinates(x, y), DIRECTIONS[direction], length, checksum
+        );
+    }
+
+    /**
+     * @return The position the road book starts from.
+     */
+    public Coordinates getStart()
+    {
+        return this.start;
+    }
+
+    /**
+     * @return The direction the road book starts with.
+     */
+    public Direction getDirection()
+    {
+        return this.direction;
+    }
+
+    public RoadBookFiles.Encoding getEncoding()
+    {
+        return this.encoding;
+    }
+
+    /**
+     * @return The number of instructions (packed) or of runs (run-length).
+     */
+    public long getLength()
+    {
+        return this.length;
+    }
+
+    /**
+     * Checks the instructions against the checksum of the header.
+     * 
+     * @throws IOException If the instructions have been altered.
+     */
+    public void verify() throws IOException
+    {
+        CRC32 crc = new CRC32();
+        crc.update(this.payload.duplicate());
+        
+        if((int) crc.getValue() != this.checksum)
+        {
+            throw new IOException("Road book checksum mismatch");
+        }
+    }
+
+    @Override
+    public boolean hasInstruction()
+    {
+        return this.remaining > 0 || this.cursor < this.length;
+    }
+
+    @Override
+    public Instruction next()
+    {
+        if(this.encoding == RoadBookFiles.Encoding.PACKED)
+        {
+            return this.get(this.cursor++);
+        }
+        
+        if(this.remaining == 0)
+        {
+            this.takeRun();
+        }
+        
+        this.remaining--;
+        
+        return this.current;
+    }
+
+    @Override
+    public int skipRepeats(Instruction instruction)
+    {
+        int repeats = 0;
+        
+        if(this.encoding == RoadBookFiles.Encoding.PACKED)
+        {
+            while(this.cursor < this.length && repeats < Integer.MAX_VALUE && this.get(this.cursor) == instruction)
+            {
+                this.cursor++;
+                repeats++;
+            }
+            
+            return repeats;
+        }
+        
+        if(this.current != instruction)
+        {
+            return 0;
+        }
+        
+        // Runs longer than an int of the payload follow each other
+        repeats = this.remaining;
+        this.remaining = 0;
+        
+        while(this.cursor < this.length && (this.payload.getInt((int) this.cursor * Integer.BYTES) & 3) == instruction.ordinal()
+            && repeats <= Integer.MAX_VALUE - RoadBookFiles.MAX_RUN)
+        {
+            this.takeRun();
+            repeats += this.remaining;
+            this.remaining = 0;
+        }
+        
+        return repeats;
+    }
+
+    /**
+     * Shares the buffer, which is only read.
+     */
+    @Override
+    public BufferRoadBook snapshot()
+    {
+        return new BufferRoadBook(this.payload, this.encoding, this.start, this.direction, this.length, this.checksum);
+    }
+
+    @Override
+    public void rewind()
+    {
+        this.cursor = 0;
+        this.current = null;
+        this.remaining = 0;
+    }
+
+    private Instruction get(long index)
+    {
+        if(index < 0 || index >= this.length)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + this.length);
+        }
+        
+        long word = this.payload.getLong((int) (index / 32) * Long.BYTES);
+        
+        return INSTRUCTIONS[(int) (word >>> (index % 32 * 2)) & 3];
+    }
+
+    private void takeRun()
+    {
+        if(this.cursor >= this.length)
+        {
+            throw new IndexOutOfBoundsException("Run: " + this.cursor + ", Runs: " + this.length);
+        }
+        
+        int run = this.payload.getInt((int) this.cursor * Integer.BYTES);
+        
+        if(run >>> 2 == 0)
+        {
+            throw new UncheckedIOException(new IOException("Invalid road book run " + this.cursor));
+        }
+        
+        this.cursor++;
+        this.current = INSTRUCTIONS[run & 3];
+        this.remaining = run >>> 2;
+    }
+}
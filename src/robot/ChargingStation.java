@@ -0,0 +1,242 @@
+package robot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands out the energy of a battery shared by several robots. Instead of
+ * each robot polling the battery, the robots reserve the energy of their
+ * next move and wait for the grant : whenever the battery holds enough, the
+ * pending requests are granted in one batch, the smallest first so that as
+ * many robots as possible get moving. A request waiting for longer than the
+ * starvation limit goes first, and holds the smaller ones back until the
+ * battery has charged enough for it.
+ * 
+ * The battery should only be drawn from through the station.
+ */
+public class ChargingStation
+{
+    private final Battery cell;
+    private final Scheduler scheduler;
+    private final TimeSource timeSource;
+
+    /**
+     * Longest time (milliseconds) a request may be overtaken by smaller ones.
+     */
+    private final long starvationLimit;
+
+    private final TreeSet<Request> bySize = new TreeSet<>(
+        Comparator.<Request>comparingDouble(request -> request.energy).thenComparingLong(request -> request.sequence)
+    );
+    private final TreeSet<Request> byArrival = new TreeSet<>(
+        Comparator.comparingLong(request -> request.sequence)
+    );
+    private long sequence;
+
+    /**
+     * Time (milliseconds) of the earliest wake-up scheduled.
+     */
+    private long wakeUpTime = Long.MAX_VALUE;
+
+    /**
+     * @param cell The shared battery.
+     * @param scheduler The scheduler waking the station up once the battery
+     * has charged.
+     * @param timeSource The time source the battery counts time on.
+     * @param starvationLimit The longest time (milliseconds) a request may be
+     * overtaken by smaller ones.
+     */
+    public ChargingStation(Battery cell, Scheduler scheduler, TimeSource timeSource, long starvationLimit)
+    {
+        this.cell = cell;
+        this.scheduler = scheduler;
+        this.timeSource = timeSource;
+        this.starvationLimit = starvationLimit;
+    }
+
+    /**
+     * @param cell The shared battery, counting time on the virtual clock.
+     * @param clock The virtual clock.
+     * @param starvationLimit The longest time (milliseconds) a request may be
+     * overtaken by smaller ones.
+     */
+    public ChargingStation(Battery cell, VirtualTimeSource clock, long starvationLimit)
+    {
+        this(cell, clock, clock, starvationLimit);
+    }
+
+    public Battery getBattery()
+    {
+        return this.cell;
+    }
+
+    /**
+     * Reserves some energy. Once the returned future completes, the energy
+     * has been drawn from the battery on behalf of the caller.
+     * 
+     * @param energy The energy needed.
+     * @return A future completed once the energy is granted, or completed
+     * exceptionally with {@link InsufficientChargeException} if the battery
+     * can never hold that much. Cancelling it withdraws the request : energy
+     * drawn for it meanwhile goes back to the battery.
+     */
+    public CompletableFuture<Void> reserve(double energy)
+    {
+        Request request = new Request(energy);
+        List<Request> granted;
+        
+        request.grant.whenComplete((ignored, ex) ->
+        {
+            if(request.grant.isCancelled())
+            {
+                this.withdraw(request);
+            }
+        });
+        
+        synchronized(this)
+        {
+            request.sequence = this.sequence++;
+            request.time = this.timeSource.currentTimeMillis();
+            this.bySize.add(request);
+            this.byArrival.add(request);
+            granted = this.grant();
+        }
+        
+        this.complete(granted);
+        
+        return request.grant;
+    }
+
+    /**
+     * Removes a cancelled request, then grants the ones it held back.
+     */
+    private void withdraw(Request request)
+    {
+        List<Request> granted;
+        
+        synchronized(this)
+        {
+            // Already granted : the energy is given back once completing fails
+            if(!this.bySize.remove(request))
+            {
+                return;
+            }
+            
+            this.byArrival.remove(request);
+            granted = this.grant();
+        }
+        
+        this.complete(granted);
+    }
+
+    /**
+     * @return The number of requests waiting for their grant.
+     */
+    public synchronized int pendingRequests()
+    {
+        return this.bySize.size();
+    }
+
+    /**
+     * Grants the pending requests the battery can afford, then schedules the
+     * next wake-up if some are left.
+     * 
+     * @return The granted or failed requests, to complete once the lock is
+     * released.
+     */
+    private List<Request> grant()
+    {
+        List<Request> granted = new ArrayList<>();
+        
+        while(!this.byArrival.isEmpty())
+        {
+            Request oldest = this.byArrival.first();
+            Request next = this.timeSource.currentTimeMillis() - oldest.time >= this.starvationLimit
+                ? oldest
+                : this.bySize.first();
+            
+            if(!this.cell.tryUse(next.energy))
+            {
+                long waitTime = this.cell.timeToSufficientCharge(next.energy);
+                
+                if(waitTime == Long.MAX_VALUE)
+                {
+                    next.failed = true;
+                }
+                else
+                {
+                    this.wakeUp(Math.max(1, waitTime));
+                    break;
+                }
+            }
+            
+            this.bySize.remove(next);
+            this.byArrival.remove(next);
+            granted.add(next);
+        }
+        
+        return granted;
+    }
+
+    private void wakeUp(long delay)
+    {
+        long time = this.timeSource.currentTimeMillis() + delay;
+        
+        // A later wake-up still comes, but finds nothing to do
+        if(time >= this.wakeUpTime)
+        {
+            return;
+        }
+        
+        this.wakeUpTime = time;
+        this.scheduler.schedule(() ->
+        {
+            List<Request> granted;
+            
+            synchronized(this)
+            {
+                if(this.wakeUpTime == time)
+                {
+                    this.wakeUpTime = Long.MAX_VALUE;
+                }
+                
+                granted = this.grant();
+            }
+            
+            this.complete(granted);
+        }, delay);
+    }
+
+    private void complete(List<Request> granted)
+    {
+        for(Request request : granted)
+        {
+            if(request.failed)
+            {
+                request.grant.completeExceptionally(new InsufficientChargeException());
+            }
+            else if(!request.grant.complete(null))
+            {
+                // Cancelled while being granted
+                this.cell.refund(request.energy);
+            }
+        }
+    }
+
+    private static class Request
+    {
+        private final double energy;
+        private final CompletableFuture<Void> grant = new CompletableFuture<>();
+        private long sequence;
+        private long time;
+        private boolean failed;
+
+        private Request(double energy)
+        {
+            this.energy = energy;
+        }
+    }
+}
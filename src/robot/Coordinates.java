@@ -21,4 +21,77 @@ public class Coordinates
     {
         return y;
     }
+
+    /**
+     * Packs a position in a long, so that the hot paths can move without
+     * allocating : the abscissa fills the high 32 bits, the ordinate the low
+     * 32 bits.
+     *
+     * @param x The abscissa.
+     * @param y The ordinate.
+     * @return The packed position.
+     */
+    public static long pack(int x, int y)
+    {
+        return (long) x << 32 | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param position A packed position.
+     * @return The abscissa of the position.
+     */
+    public static int xOf(long position)
+    {
+        return (int) (position >> 32);
+    }
+
+    /**
+     * @param position A packed position.
+     * @return The ordinate of the position.
+     */
+    public static int yOf(long position)
+    {
+        return (int) position;
+    }
+
+    /**
+     * @param position A packed position.
+     * @return The coordinates of the position.
+     */
+    public static Coordinates of(long position)
+    {
+        return new Coordinates(xOf(position), yOf(position));
+    }
+
+    /**
+     * @return These coordinates packed in a long.
+     * @see #pack(int, int)
+     */
+    public long pack()
+    {
+        return pack(x, y);
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if(!(other instanceof Coordinates))
+        {
+            return false;
+        }
+        Coordinates coordinates = (Coordinates) other;
+        return x == coordinates.x && y == coordinates.y;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * x + y;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "(" + x + " ; " + y + ")";
+    }
 }
@@ -0,0 +1,89 @@
+package robot;
+
+/**
+ * Expected cost of following a road book, computed by
+ * {@link EnergyBudgetEstimator} before the trip.
+ */
+public class EnergyBudget
+{
+    private final double energy;
+    private final int chargeWaits;
+    private final long chargeWaitTime;
+    private final long longestChargeWait;
+    private final float finalChargeLevel;
+
+    public EnergyBudget(double energy, int chargeWaits, long chargeWaitTime, long longestChargeWait, float finalChargeLevel)
+    {
+        this.energy = energy;
+        this.chargeWaits = chargeWaits;
+        this.chargeWaitTime = chargeWaitTime;
+        this.longestChargeWait = longestChargeWait;
+        this.finalChargeLevel = finalChargeLevel;
+    }
+
+    /**
+     * @return The energy drawn from the battery by the whole trip.
+     */
+    public double getEnergy()
+    {
+        return this.energy;
+    }
+
+    /**
+     * @return The number of times the robot waits for its battery.
+     */
+    public int getChargeWaits()
+    {
+        return this.chargeWaits;
+    }
+
+    /**
+     * @return The time (milliseconds) spent waiting for the battery.
+     */
+    public long getChargeWaitTime()
+    {
+        return this.chargeWaitTime;
+    }
+
+    /**
+     * @return The longest single wait (milliseconds) for the battery.
+     */
+    public long getLongestChargeWait()
+    {
+        return this.longestChargeWait;
+    }
+
+    /**
+     * @return The time (milliseconds) the trip takes. Moves are immediate,
+     * so this is the time spent waiting for the battery.
+     */
+    public long getCompletionTime()
+    {
+        return this.chargeWaitTime;
+    }
+
+    /**
+     * @return The charge level left at the end of the trip.
+     */
+    public float getFinalChargeLevel()
+    {
+        return this.finalChargeLevel;
+    }
+
+    /**
+     * @return Whether the battery can never hold enough for some move.
+     */
+    public boolean isUnreachable()
+    {
+        return this.chargeWaitTime == Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+            "energy %.2f, %d charge waits (%d ms, longest %d ms), final charge %.2f",
+            this.energy, this.chargeWaits, this.chargeWaitTime, this.longestChargeWait, this.finalChargeLevel
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package robot;
+
+/**
+ * Scores a road book before following it : the energy of each run of moves
+ * is rated with the land sensor, and the battery is charged tick by tick
+ * whenever it holds too little, exactly as {@link Robot#letsGo()} would.
+ * Nothing moves and no time passes, so thousands of candidate road books
+ * can be compared per second.
+ * 
+ * The coefficients given by the sensor are taken as the expected ones : the
+ * budget is exact with a deterministic sensor such as
+ * {@link TerrainLandSensor}.
+ */
+public class EnergyBudgetEstimator
+{
+    private final LandSensor sensor;
+    private final double energyConsumption;
+
+    /**
+     * @param sensor The land sensor rating each move.
+     * @param energyConsumption The ideal energy consumed by a move.
+     */
+    public EnergyBudgetEstimator(LandSensor sensor, double energyConsumption)
+    {
+        this.sensor = sensor;
+        this.energyConsumption = energyConsumption;
+    }
+
+    /**
+     * Estimates the trip from the current state of a battery.
+     * 
+     * @param book The road book, read from its first instruction through a
+     * snapshot : its own cursor is left untouched.
+     * @param position The initial position of the robot.
+     * @param direction The initial direction of the robot.
+     * @param cell The battery, which is left untouched.
+     * @return The expected budget of the trip.
+     * @throws IllegalArgumentException If the road book can't be rewound.
+     */
+    public EnergyBudget estimate(RoadBook book, Coordinates position, Direction direction, Battery cell)
+    {
+        return this.estimate(book, position, direction, cell.getChargeLevel(), cell.getChargeTop());
+    }
+
+    /**
+     * @param book The road book, read from its first instruction through a
+     * snapshot : its own cursor is left untouched.
+     * @param position The initial position of the robot.
+     * @param direction The initial direction of the robot.
+     * @param chargeLevel The initial charge level of the battery.
+     * @param chargeTop The time (milliseconds) between two charge ticks.
+     * @return The expected budget of the trip.
+     * @throws IllegalArgumentException If the road book can't be rewound,
+     * such as a {@link StreamingRoadBook} : its instructions are only known
+     * once followed.
+     */
+    public EnergyBudget estimate(RoadBook book, Coordinates position, Direction direction, float chargeLevel, long chargeTop)
+    {
+        if(!book.isRewindable())
+        {
+            throw new IllegalArgumentException("Only a road book that can be rewound can be estimated");
+        }
+        
+        RoadBook trip = book.snapshot();
+        long nextPosition = position.pack();
+        double energy = 0;
+        int chargeWaits = 0;
+        long chargeWaitTime = 0;
+        long longestChargeWait = 0;
+        
+        while(trip.hasInstruction())
+        {
+            Instruction instruction = trip.next();
+            
+            if(null == instruction)
+            {
+                continue;
+            }
+            
+            int count = 1 + trip.skipRepeats(instruction);
+            
+            switch(instruction)
+            {
+                case TURNLEFT:
+                    direction = MapTools.rotate(direction, -count);
+                    continue;
+                case TURNRIGHT:
+                    direction = MapTools.rotate(direction, count);
+                    continue;
+                default:
+                    break;
+            }
+            
+            // Same energy as the fused move of the robot
+            int step = instruction == Instruction.FORWARD ? 1 : -1;
+            double requiredEnergy = 0;
+            
+            for(int i = 0; i < count; i++)
+            {
+                long stepPosition = MapTools.move(nextPosition, direction, step);
+                requiredEnergy += this.energyConsumption * this.sensor.coefficient(nextPosition, stepPosition);
+                nextPosition = stepPosition;
+            }
+            
+            // Checked again after each wait, as the robot does
+            while(chargeLevel < requiredEnergy)
+            {
+                long tops = Battery.topsToSufficientCharge(chargeLevel, requiredEnergy);
+                
+                if(tops > (Long.MAX_VALUE - chargeWaitTime) / chargeTop)
+                {
+                    // The battery can never hold enough for this run
+                    return new EnergyBudget(Double.POSITIVE_INFINITY, chargeWaits + 1, Long.MAX_VALUE, Long.MAX_VALUE, chargeLevel);
+                }
+                
+                long waitTime = tops * chargeTop;
+                chargeLevel = Battery.chargeAfter(chargeLevel, tops);
+                chargeWaits++;
+                chargeWaitTime += waitTime;
+                longestChargeWait = Math.max(longestChargeWait, waitTime);
+            }
+            
+            chargeLevel -= (float) requiredEnergy;
+            energy += requiredEnergy;
+        }
+        
+        return new EnergyBudget(energy, chargeWaits, chargeWaitTime, longestChargeWait, chargeLevel);
+    }
+}
@@ -0,0 +1,118 @@
+package robot;
+
+import java.util.Arrays;
+
+/**
+ * A* search minimizing the energy of the trip rather than its length : each
+ * move costs the energy coefficient the land sensor gives for it.
+ * 
+ * Coefficients are asked to the sensor the first time a move is considered
+ * then cached, one float per cell and direction, or all computed at once by
+ * {@link #precompute()}.
+ */
+public class EnergyPlanner extends AStarPlanner
+{
+    private final LandSensor sensor;
+    private final double minimumCoefficient;
+
+    /**
+     * Energy coefficient of the move from each cell towards each direction,
+     * at index 4 * cell + direction ordinal, NaN if not sampled yet.
+     */
+    private final float[] coefficients;
+
+    /**
+     * Guides the search with the lowest coefficient the sensor may give.
+     * 
+     * @param map The map, giving the blocked cells.
+     * @param sensor The land sensor giving the energy coefficient of each move.
+     */
+    public EnergyPlanner(GridMap map, LandSensor sensor)
+    {
+        this(map, sensor, sensor.getMinimumCoefficient());
+    }
+
+    /**
+     * @param map The map, giving the blocked cells.
+     * @param sensor The land sensor giving the energy coefficient of each move.
+     * @param minimumCoefficient A lower bound of the coefficients, guiding the
+     * search towards the destination. Must not exceed any coefficient, or
+     * the road books may not be the cheapest ones.
+     */
+    public EnergyPlanner(GridMap map, LandSensor sensor, double minimumCoefficient)
+    {
+        super(map);
+        this.sensor = sensor;
+        this.minimumCoefficient = minimumCoefficient;
+        this.coefficients = new float[4 * map.size()];
+        Arrays.fill(this.coefficients, Float.NaN);
+    }
+
+    /**
+     * Asks the sensor for the coefficient of every move of the map.
+     * 
+     * @throws IllegalStateException If the sensor can't rate a move.
+     */
+    public void precompute()
+    {
+        for(int node = 0; node < this.map.size(); node++)
+        {
+            int x = this.map.xOf(node);
+            int y = this.map.yOf(node);
+            
+            for(int heading = 0; heading < 4; heading++)
+            {
+                if(!this.map.isBlocked(x + DX[heading], y + DY[heading]))
+                {
+                    this.coefficient(node, heading);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the cached coefficients, for instance after the land changed.
+     */
+    public void invalidate()
+    {
+        Arrays.fill(this.coefficients, Float.NaN);
+    }
+
+    @Override
+    protected double stepCost(int from, int to, int heading)
+    {
+        return this.coefficient(from, heading);
+    }
+
+    @Override
+    protected double estimate(int node, int goal)
+    {
+        return this.distance(node, goal) * this.minimumCoefficient;
+    }
+
+    private float coefficient(int node, int heading)
+    {
+        int index = 4 * node + heading;
+        float coefficient = this.coefficients[index];
+        
+        if(Float.isNaN(coefficient))
+        {
+            int x = this.map.xOf(node);
+            int y = this.map.yOf(node);
+            coefficient = (float) this.sensor.coefficient(
+                Coordinates.pack(x, y),
+                Coordinates.pack(x + DX[heading], y + DY[heading])
+            );
+            
+            // Not cached : NaN already marks the moves not sampled yet
+            if(Float.isNaN(coefficient))
+            {
+                throw new IllegalStateException("The sensor can't rate the move from (" + x + " ; " + y + ") towards " + Direction.values()[heading]);
+            }
+            
+            this.coefficients[index] = coefficient;
+        }
+        
+        return coefficient;
+    }
+}
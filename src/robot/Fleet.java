@@ -0,0 +1,41 @@
+package robot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of robots, each one with its own road book, battery and land sensor,
+ * driven together by a {@link FleetExecutor}.
+ */
+public class Fleet
+{
+    private final List<Robot> robots;
+
+    public Fleet()
+    {
+        this.robots = new ArrayList<>();
+    }
+
+    /**
+     * Adds a landed robot to the fleet.
+     * 
+     * @param robot The robot, with its own battery and land sensor.
+     * @param roadBook The road book the robot will follow.
+     */
+    public void add(Robot robot, RoadBook roadBook)
+    {
+        robot.setRoadBook(roadBook);
+        this.robots.add(robot);
+    }
+
+    public List<Robot> getRobots()
+    {
+        return Collections.unmodifiableList(this.robots);
+    }
+
+    public int size()
+    {
+        return this.robots.size();
+    }
+}
@@ -0,0 +1,155 @@
+package robot;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Drives all the robots of a fleet in parallel on a fork-join pool.
+ * 
+ * Robots follow their road book through {@link Robot#letsGoAsync(robot.Scheduler)} :
+ * a robot waiting for its battery holds no worker, its next move is handed
+ * back to the pool once the battery is charged enough, so the number of
+ * robots is not bounded by the number of workers.
+ */
+public class FleetExecutor implements AutoCloseable
+{
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService timer;
+    private final Scheduler scheduler;
+
+    /**
+     * Creates an executor with one worker per available processor.
+     */
+    public FleetExecutor()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism The number of worker threads.
+     */
+    public FleetExecutor(int parallelism)
+    {
+        this.pool = new ForkJoinPool(parallelism);
+        
+        ScheduledThreadPoolExecutor timerExecutor = new ScheduledThreadPoolExecutor(1, (task) ->
+        {
+            Thread thread = new Thread(task, "fleet-timer");
+            thread.setDaemon(true);
+            
+            return thread;
+        });
+        timerExecutor.setRemoveOnCancelPolicy(true);
+        this.timer = timerExecutor;
+        
+        // The timer thread only hands charged robots back to the workers
+        this.scheduler = (task, delayMillis) ->
+        {
+            if(delayMillis <= 0)
+            {
+                this.pool.execute(task);
+            }
+            else
+            {
+                this.timer.schedule(() -> this.pool.execute(task), delayMillis, TimeUnit.MILLISECONDS);
+            }
+        };
+    }
+
+    /**
+     * Runs every robot of the fleet until the end of its road book.
+     * 
+     * @param fleet The fleet to run.
+     * @return The aggregate activity of the fleet during this run.
+     */
+    public FleetReport run(Fleet fleet)
+    {
+        return runAll(fleet, (robot) -> CompletableFuture
+            .supplyAsync(() -> robot.letsGoAsync(this.scheduler), this.pool)
+            .thenCompose((trip) -> trip),
+            null
+        );
+    }
+
+    /**
+     * Simulates the whole fleet on the calling thread, time jumping from one
+     * scheduled wake-up to the next one instead of being waited for. The
+     * robots' batteries should count time on the given source.
+     * 
+     * @param fleet The fleet to run.
+     * @param clock The simulated time source.
+     * @return The aggregate activity of the fleet during this run.
+     */
+    public static FleetReport simulate(Fleet fleet, VirtualTimeSource clock)
+    {
+        return runAll(fleet, (robot) -> robot.letsGoAsync(clock), clock);
+    }
+
+    private static FleetReport runAll(Fleet fleet, Function<Robot, CompletableFuture<Void>> launcher, VirtualTimeSource clock)
+    {
+        List<Robot> robots = fleet.getRobots();
+        long[] executedInstructions = new long[robots.size()];
+        double[] consumedEnergy = new double[robots.size()];
+        long[] chargeWaitTime = new long[robots.size()];
+        CompletableFuture<?>[] trips = new CompletableFuture<?>[robots.size()];
+        AtomicInteger failedRobots = new AtomicInteger();
+        long start = System.nanoTime();
+        
+        for(int i = 0; i < trips.length; i++)
+        {
+            Robot robot = robots.get(i);
+            executedInstructions[i] = robot.getExecutedInstructions();
+            consumedEnergy[i] = robot.getConsumedEnergy();
+            chargeWaitTime[i] = robot.getChargeWaitTime();
+            
+            trips[i] = launcher.apply(robot).handle((done, ex) ->
+            {
+                if(null != ex)
+                {
+                    failedRobots.incrementAndGet();
+                }
+                
+                return null;
+            });
+        }
+        
+        if(null != clock)
+        {
+            clock.run();
+        }
+        
+        CompletableFuture.allOf(trips).join();
+        long elapsedNanos = System.nanoTime() - start;
+        
+        // Only report what has been done during this run
+        long totalInstructions = 0;
+        double totalEnergy = 0;
+        long totalWait = 0;
+        
+        for(int i = 0; i < trips.length; i++)
+        {
+            Robot robot = robots.get(i);
+            totalInstructions += robot.getExecutedInstructions() - executedInstructions[i];
+            totalEnergy += robot.getConsumedEnergy() - consumedEnergy[i];
+            totalWait += robot.getChargeWaitTime() - chargeWaitTime[i];
+        }
+        
+        return new FleetReport(trips.length, failedRobots.get(), totalInstructions, totalEnergy, totalWait, elapsedNanos);
+    }
+
+    /**
+     * Stops the worker and timer threads.
+     */
+    @Override
+    public void close()
+    {
+        this.timer.shutdownNow();
+        this.pool.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package robot;
+
+/**
+ * Aggregate activity of a fleet over one {@link FleetExecutor#run(robot.Fleet)}.
+ */
+public class FleetReport
+{
+    private final int robots;
+    private final int failedRobots;
+    private final long executedInstructions;
+    private final double consumedEnergy;
+    private final long chargeWaitTime;
+    private final long elapsedNanos;
+
+    public FleetReport(int robots, int failedRobots, long executedInstructions, double consumedEnergy, long chargeWaitTime, long elapsedNanos)
+    {
+        this.robots = robots;
+        this.failedRobots = failedRobots;
+        this.executedInstructions = executedInstructions;
+        this.consumedEnergy = consumedEnergy;
+        this.chargeWaitTime = chargeWaitTime;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRobots()
+    {
+        return this.robots;
+    }
+
+    /**
+     * @return The number of robots whose trip ended with an exception.
+     */
+    public int getFailedRobots()
+    {
+        return this.failedRobots;
+    }
+
+    public long getExecutedInstructions()
+    {
+        return this.executedInstructions;
+    }
+
+    public double getConsumedEnergy()
+    {
+        return this.consumedEnergy;
+    }
+
+    /**
+     * @return The time (milliseconds) spent waiting for batteries, summed
+     * over all robots.
+     */
+    public long getChargeWaitTime()
+    {
+        return this.chargeWaitTime;
+    }
+
+    public long getElapsedNanos()
+    {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return The number of instructions executed per second of wall time.
+     */
+    public double getInstructionsPerSecond()
+    {
+        return this.elapsedNanos == 0 ? 0 : this.executedInstructions * 1e9 / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+            "%d robots (%d failed), %d instructions in %.3f s (%.0f instructions/s), energy %.2f, charge wait %d ms",
+            this.robots, this.failedRobots, this.executedInstructions, this.elapsedNanos / 1e9,
+            this.getInstructionsPerSecond(), this.consumedEnergy, this.chargeWaitTime
+        );
+    }
+}
@@ -0,0 +1,128 @@
+package robot;
+
+/**
+ * Bounded grid of free and blocked cells, stored one bit per cell.
+ * 
+ * Cells are numbered row by row from the bottom left corner (originX ;
+ * originY), so that planners can work on int indexes rather than on
+ * {@link Coordinates}.
+ */
+public class GridMap
+{
+    private final int originX;
+    private final int originY;
+    private final int width;
+    private final int height;
+    private final long[] blocked;
+
+    /**
+     * Creates a map covering (0 ; 0) to (width - 1 ; height - 1).
+     */
+    public GridMap(int width, int height)
+    {
+        this(0, 0, width, height);
+    }
+
+    /**
+     * Creates a map covering (originX ; originY) to
+     * (originX + width - 1 ; originY + height - 1), every cell being free.
+     */
+    public GridMap(int originX, int originY, int width, int height)
+    {
+        if(width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Invalid map size: " + width + "x" + height);
+        }
+        
+        this.originX = originX;
+        this.originY = originY;
+        this.width = width;
+        this.height = height;
+        this.blocked = new long[(int) (((long) width * height + 63) / 64)];
+    }
+
+    public int getOriginX()
+    {
+        return this.originX;
+    }
+
+    public int getOriginY()
+    {
+        return this.originY;
+    }
+
+    public int getWidth()
+    {
+        return this.width;
+    }
+
+    public int getHeight()
+    {
+        return this.height;
+    }
+
+    /**
+     * @return The number of cells of the map.
+     */
+    public int size()
+    {
+        return this.width * this.height;
+    }
+
+    public boolean contains(int x, int y)
+    {
+        return x >= this.originX && y >= this.originY && x - this.originX < this.width && y - this.originY < this.height;
+    }
+
+    public void block(int x, int y)
+    {
+        int index = this.indexOf(x, y);
+        this.blocked[index >>> 6] |= 1L << index;
+    }
+
+    public void unblock(int x, int y)
+    {
+        int index = this.indexOf(x, y);
+        this.blocked[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * @return True if the cell is blocked or out of the map.
+     */
+    public boolean isBlocked(int x, int y)
+    {
+        return !this.contains(x, y) || this.isBlocked(this.indexOf(x, y));
+    }
+
+    /**
+     * @param index The index of a cell of the map.
+     * @return True if the cell is blocked.
+     */
+    public boolean isBlocked(int index)
+    {
+        return (this.blocked[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * @return The index of the cell, which must be on the map.
+     */
+    public int indexOf(int x, int y)
+    {
+        if(!this.contains(x, y))
+        {
+            throw new IndexOutOfBoundsException("(" + x + " ; " + y + ") is out of the map");
+        }
+        
+        return (y - this.originY) * this.width + (x - this.originX);
+    }
+
+    public int xOf(int index)
+    {
+        return this.originX + index % this.width;
+    }
+
+    public int yOf(int index)
+    {
+        return this.originY + index / this.width;
+    }
+}
@@ -0,0 +1,153 @@
+package robot;
+
+import java.util.Arrays;
+
+/**
+ * Base of the planners searching a path on a {@link GridMap}.
+ * 
+ * The search state lives in primitive arrays indexed by cell, allocated once
+ * per planner and reset in constant time by stamping the cells touched by
+ * each search. A planner is therefore not thread-safe : use one per thread.
+ */
+public abstract class GridPlanner implements RoadBookPlanner
+{
+    /**
+     * Offsets of the four neighbours, indexed by {@link Direction#ordinal()}.
+     */
+    static final int[] DX = MapTools.DX;
+    static final int[] DY = MapTools.DY;
+
+    protected final GridMap map;
+
+    /**
+     * Cost of the best known path to each cell, and the cell it comes from.
+     */
+    protected final double[] costs;
+    protected final int[] parents;
+    protected final NodeHeap open;
+
+    /**
+     * A cell has been reached (resp. closed) by the current search if its
+     * stamp equals search (resp. -search).
+     */
+    private final int[] stamps;
+    private int search;
+
+    /**
+     * Scratch buffers for the path, from the destination back to the start.
+     */
+    private int[] pathX;
+    private int[] pathY;
+
+    protected GridPlanner(GridMap map)
+    {
+        this.map = map;
+        this.costs = new double[map.size()];
+        this.parents = new int[map.size()];
+        this.stamps = new int[map.size()];
+        this.open = new NodeHeap();
+        this.pathX = new int[64];
+        this.pathY = new int[64];
+    }
+
+    public GridMap getMap()
+    {
+        return this.map;
+    }
+
+    @Override
+    public RoadBook plan(Direction direction, Coordinates position, Coordinates destination) throws UnreachableDestinationException
+    {
+        if(this.map.isBlocked(position.getX(), position.getY()) || this.map.isBlocked(destination.getX(), destination.getY()))
+        {
+            throw new UnreachableDestinationException();
+        }
+        
+        int start = this.map.indexOf(position.getX(), position.getY());
+        int goal = this.map.indexOf(destination.getX(), destination.getY());
+        this.startSearch();
+        this.open.clear();
+        
+        if(!this.search(start, goal))
+        {
+            throw new UnreachableDestinationException();
+        }
+        
+        return this.buildRoadBook(direction, start, goal);
+    }
+
+    /**
+     * Searches a path, leaving in {@link #parents} a chain of cells leading
+     * back from goal to start, each one aligned with the next one.
+     * 
+     * @return False if the goal cannot be reached.
+     */
+    protected abstract boolean search(int start, int goal);
+
+    /**
+     * Marks a cell as reached by the current search with the given cost.
+     */
+    protected final void reach(int node, double cost, int parent)
+    {
+        this.stamps[node] = this.search;
+        this.costs[node] = cost;
+        this.parents[node] = parent;
+    }
+
+    protected final boolean isReached(int node)
+    {
+        return this.stamps[node] == this.search || this.stamps[node] == -this.search;
+    }
+
+    protected final void close(int node)
+    {
+        this.stamps[node] = -this.search;
+    }
+
+    protected final boolean isClosed(int node)
+    {
+        return this.stamps[node] == -this.search;
+    }
+
+    /**
+     * @return The Manhattan distance between two cells.
+     */
+    protected final int distance(int from, int to)
+    {
+        return Math.abs(this.map.xOf(from) - this.map.xOf(to)) + Math.abs(this.map.yOf(from) - this.map.yOf(to));
+    }
+
+    private void startSearch()
+    {
+        if(++this.search == Integer.MAX_VALUE)
+        {
+            Arrays.fill(this.stamps, 0);
+            this.search = 1;
+        }
+    }
+
+    private RoadBook buildRoadBook(Direction direction, int start, int goal)
+    {
+        int count = 0;
+        
+        for(int node = goal; ; node = this.parents[node])
+        {
+            if(count == this.pathX.length)
+            {
+                this.pathX = Arrays.copyOf(this.pathX, count * 2);
+                this.pathY = Arrays.copyOf(this.pathY, count * 2);
+            }
+            
+            this.pathX[count] = this.map.xOf(node);
+            this.pathY[count] = this.map.yOf(node);
+            count++;
+            
+            if(node == start)
+            {
+                break;
+            }
+        }
+        
+        return RoadBookCalculator.followWaypoints(direction, this.pathX, this.pathY, count);
+    }
+}
@@ -0,0 +1,29 @@
+package robot;
+
+/**
+ * Cost of each instruction, used to choose between road books reaching the
+ * same destination.
+ */
+public class InstructionCosts
+{
+    /**
+     * Every instruction costs 1 : the shortest road book is chosen.
+     */
+    public static final InstructionCosts UNIT = new InstructionCosts(1, 1, 1, 1);
+
+    private final double[] costs;
+
+    public InstructionCosts(double turnLeft, double backward, double turnRight, double forward)
+    {
+        this.costs = new double[Instruction.values().length];
+        this.costs[Instruction.TURNLEFT.ordinal()] = turnLeft;
+        this.costs[Instruction.BACKWARD.ordinal()] = backward;
+        this.costs[Instruction.TURNRIGHT.ordinal()] = turnRight;
+        this.costs[Instruction.FORWARD.ordinal()] = forward;
+    }
+
+    public double getCost(Instruction instruction)
+    {
+        return this.costs[instruction.ordinal()];
+    }
+}
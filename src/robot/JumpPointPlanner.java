@@ -0,0 +1,161 @@
+package robot;
+
+/**
+ * Jump point search on a {@link GridMap}, moving from a cell to its four
+ * neighbours at uniform cost.
+ * 
+ * Among the shortest paths, only those moving vertically first and turning
+ * back to a vertical move when an obstacle forces it are considered. Straight
+ * lines are thus crossed by jumping from one jump point to the next one,
+ * only the jump points being pushed to the open set.
+ */
+public class JumpPointPlanner extends GridPlanner
+{
+    /**
+     * Ordinal of the direction each jump point was reached from, -1 for the
+     * start.
+     */
+    private final byte[] arrivals;
+
+    public JumpPointPlanner(GridMap map)
+    {
+        super(map);
+        this.arrivals = new byte[map.size()];
+    }
+
+    @Override
+    protected boolean search(int start, int goal)
+    {
+        int goalX = this.map.xOf(goal);
+        int goalY = this.map.yOf(goal);
+        this.reach(start, 0, start);
+        this.arrivals[start] = -1;
+        this.open.push(start, this.distance(start, goal), this.distance(start, goal));
+        
+        while(!this.open.isEmpty())
+        {
+            int node = this.open.pop();
+            
+            if(this.isClosed(node))
+            {
+                continue;
+            }
+            
+            if(node == goal)
+            {
+                return true;
+            }
+            
+            this.close(node);
+            int x = this.map.xOf(node);
+            int y = this.map.yOf(node);
+            int arrival = this.arrivals[node];
+            
+            for(int heading = 0; heading < 4; heading++)
+            {
+                if(!this.isSuccessor(x, y, arrival, heading))
+                {
+                    continue;
+                }
+                
+                int jumpPoint = DX[heading] == 0
+                    ? this.jumpVertically(x, y, DY[heading], goalX, goalY)
+                    : this.jumpHorizontally(x, y, DX[heading], goalX, goalY);
+                
+                if(jumpPoint < 0 || this.isClosed(jumpPoint))
+                {
+                    continue;
+                }
+                
+                double cost = this.costs[node] + this.distance(node, jumpPoint);
+                
+                if(!this.isReached(jumpPoint) || cost < this.costs[jumpPoint])
+                {
+                    this.reach(jumpPoint, cost, node);
+                    this.arrivals[jumpPoint] = (byte) heading;
+                    double estimate = this.distance(jumpPoint, goal);
+                    this.open.push(jumpPoint, cost + estimate, estimate);
+                }
+            }
+        }
+        
+        return false;
+    }
+
+    /**
+     * @return True if the path reaching (x ; y) by arrival should go on
+     * towards heading.
+     */
+    private boolean isSuccessor(int x, int y, int arrival, int heading)
+    {
+        if(arrival < 0)
+        {
+            return true;
+        }
+        
+        // Never go back
+        if(heading == ((arrival + 2) & 3))
+        {
+            return false;
+        }
+        
+        // After a vertical move, every other direction is natural
+        if(DX[arrival] == 0 || heading == arrival)
+        {
+            return true;
+        }
+        
+        // After a horizontal move, turn vertically only if it couldn't be done
+        // one cell earlier
+        return !this.map.isBlocked(x, y + DY[heading]) && this.map.isBlocked(x - DX[arrival], y + DY[heading]);
+    }
+
+    /**
+     * @return The first jump point met moving horizontally from (x ; y), or
+     * -1 if an obstacle is met first.
+     */
+    private int jumpHorizontally(int x, int y, int dx, int goalX, int goalY)
+    {
+        while(true)
+        {
+            x += dx;
+            
+            if(this.map.isBlocked(x, y))
+            {
+                return -1;
+            }
+            
+            if((x == goalX && y == goalY)
+                || (!this.map.isBlocked(x, y + 1) && this.map.isBlocked(x - dx, y + 1))
+                || (!this.map.isBlocked(x, y - 1) && this.map.isBlocked(x - dx, y - 1)))
+            {
+                return this.map.indexOf(x, y);
+            }
+        }
+    }
+
+    /**
+     * @return The first jump point met moving vertically from (x ; y), that
+     * is a cell from which a horizontal jump finds one, or -1 if an obstacle
+     * is met first.
+     */
+    private int jumpVertically(int x, int y, int dy, int goalX, int goalY)
+    {
+        while(true)
+        {
+            y += dy;
+            
+            if(this.map.isBlocked(x, y))
+            {
+                return -1;
+            }
+            
+            if((x == goalX && y == goalY)
+                || this.jumpHorizontally(x, y, 1, goalX, goalY) >= 0
+                || this.jumpHorizontally(x, y, -1, goalX, goalY) >= 0)
+            {
+                return this.map.indexOf(x, y);
+            }
+        }
+    }
+}
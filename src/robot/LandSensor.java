@@ -11,6 +11,15 @@ public class LandSensor
         this.random = r;
     }
 
+    /**
+     * Pour les capteurs calculant leurs facteurs de modulation sans tirage
+     * aleatoire, qui doivent redefinir getPointToPointEnergyCoefficient.
+     */
+    protected LandSensor()
+    {
+        this(null);
+    }
+
     /**
      * Calcule un facteur de modulation permettant de moduler l'energie
      * consommee dans des conditions ideales.
@@ -29,9 +38,95 @@ public class LandSensor
         return 1 + distance / (distance * random.nextDouble());
     }
 
+    /**
+     * Meme calcul sur des positions compactees. Par defaut, les positions
+     * sont decompactees et confiees a la variante sur des Coordinates : un
+     * capteur ne redefinissant que celle-ci reste pris en compte. Les
+     * capteurs calculant sans allocation redefinissent cette variante et
+     * hasPackedCoefficients().
+     *
+     * @param position1 position compactee par Coordinates.pack
+     * @param position2 position compactee par Coordinates.pack
+     * @return facteur de modulation de l'energie consommee dans des conditions
+     * ideales
+     */
+    public double getPointToPointEnergyCoefficient(long position1, long position2)
+    {
+        return getPointToPointEnergyCoefficient(Coordinates.of(position1), Coordinates.of(position2));
+    }
+
+    /**
+     * @return true si le capteur redefinit la variante compactee de
+     * getPointToPointEnergyCoefficient, false pour passer par les Coordinates
+     */
+    protected boolean hasPackedCoefficients()
+    {
+        return false;
+    }
+
+    /**
+     * Facteur de modulation entre deux positions compactees, appele par le
+     * robot et les planificateurs : par la variante compactee si le capteur
+     * la redefinit, sinon par la variante publique sur des Coordinates, que
+     * les doublures de test peuvent remplacer seule.
+     *
+     * @param position1 position compactee par Coordinates.pack
+     * @param position2 position compactee par Coordinates.pack
+     * @return facteur de modulation de l'energie consommee dans des conditions
+     * ideales
+     */
+    final double coefficient(long position1, long position2)
+    {
+        if(hasPackedCoefficients())
+        {
+            return getPointToPointEnergyCoefficient(position1, position2);
+        }
+        return getPointToPointEnergyCoefficient(Coordinates.of(position1), Coordinates.of(position2));
+    }
+
+    /**
+     * Plus petit facteur de modulation que peut rendre le capteur entre deux
+     * positions voisines. Le tirage 1 + 1 / r, r dans [0 ; 1[, ne descend
+     * jamais sous 2 ; un capteur derive redefinit sa propre loi, sans borne
+     * connue tant qu'il ne redefinit pas aussi cette methode.
+     *
+     * @return borne inferieure des facteurs de modulation
+     */
+    public double getMinimumCoefficient()
+    {
+        return getClass() == LandSensor.class ? 2 : 0;
+    }
+
     public double distance(Coordinates coordinate1, Coordinates coordinate2)
     {
         // return Math.sqrt(Math.pow(coordinate1.getX() - coordinate2.getX(), 2) + Math.pow(coordinate1.getX() - coordinate2.getX(), 2));
-        return Math.sqrt(Math.pow(coordinate1.getX() - coordinate2.getX(), 2) + Math.pow(coordinate1.getY() - coordinate2.getY(), 2));
+        return distance(coordinate1.pack(), coordinate2.pack());
+    }
+
+    /**
+     * Distance euclidienne entre deux positions compactees. Les deplacements
+     * du robot se font d'une case voisine a l'autre : la distance vaut alors
+     * 1 sans calcul, de meme que celle d'un segment aligne sur un axe vaut sa
+     * longueur. La racine du carre entier n'est calculee que pour les autres
+     * segments.
+     *
+     * @param position1 position compactee par Coordinates.pack
+     * @param position2 position compactee par Coordinates.pack
+     * @return distance entre les deux positions
+     */
+    public double distance(long position1, long position2)
+    {
+        long dx = Math.abs((long) Coordinates.xOf(position1) - Coordinates.xOf(position2));
+        long dy = Math.abs((long) Coordinates.yOf(position1) - Coordinates.yOf(position2));
+        if(dx == 0 || dy == 0)
+        {
+            return dx + dy;
+        }
+        if(dx <= Integer.MAX_VALUE && dy <= Integer.MAX_VALUE)
+        {
+            // Le carre entier ne deborde pas
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+        return Math.hypot(dx, dy);
     }
 }
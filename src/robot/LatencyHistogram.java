@@ -0,0 +1,153 @@
+package robot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies (nanoseconds), with buckets in the manner
+ * of HdrHistogram : each power of two is split into 32 buckets, so that any
+ * recorded value is known within about 3 %.
+ */
+public class LatencyHistogram
+{
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos The latency to record, negative values counting as 0.
+     */
+    public void record(long nanos)
+    {
+        nanos = Math.max(0, nanos);
+        this.counts.incrementAndGet(indexOf(nanos));
+        this.sum.add(nanos);
+        this.max.accumulate(nanos);
+    }
+
+    /**
+     * @return A copy of the recorded values. Values recorded meanwhile may or
+     * may not be part of it.
+     */
+    public Snapshot snapshot()
+    {
+        long[] copy = new long[BUCKETS];
+        
+        for(int i = 0; i < BUCKETS; i++)
+        {
+            copy[i] = this.counts.get(i);
+        }
+        
+        return new Snapshot(copy, this.sum.sum(), this.max.get());
+    }
+
+    static int indexOf(long value)
+    {
+        if(value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @return The highest value falling in the bucket.
+     */
+    static long highestValueOf(int index)
+    {
+        if(index < SUB_BUCKETS)
+        {
+            return index;
+        }
+        
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Recorded values at one point in time.
+     */
+    public static class Snapshot
+    {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max)
+        {
+            long count = 0;
+            
+            for(long bucket : counts)
+            {
+                count += bucket;
+            }
+            
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount()
+        {
+            return this.count;
+        }
+
+        /**
+         * @return The mean latency (nanoseconds), 0 if nothing was recorded.
+         */
+        public double getMean()
+        {
+            return this.count == 0 ? 0 : (double) this.sum / this.count;
+        }
+
+        public long getMax()
+        {
+            return this.max;
+        }
+
+        /**
+         * @param percentile The percentile, between 0 and 100.
+         * @return The latency (nanoseconds) under which the given percentage
+         * of the recorded values fall, 0 if nothing was recorded.
+         */
+        public long getValueAtPercentile(double percentile)
+        {
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+            long seen = 0;
+            
+            for(int i = 0; i < this.counts.length; i++)
+            {
+                seen += this.counts[i];
+                
+                if(seen >= rank)
+                {
+                    return Math.min(highestValueOf(i), this.max);
+                }
+            }
+            
+            return 0;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format(
+                "count %d, mean %.0f ns, p50 %d ns, p99 %d ns, p99.9 %d ns, max %d ns",
+                this.count, this.getMean(), this.getValueAtPercentile(50), this.getValueAtPercentile(99),
+                this.getValueAtPercentile(99.9), this.max
+            );
+        }
+    }
+}
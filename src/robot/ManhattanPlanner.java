@@ -0,0 +1,39 @@
+package robot;
+
+/**
+ * Plans on an empty, infinite grid with {@link RoadBookCalculator}.
+ */
+public class ManhattanPlanner implements RoadBookPlanner
+{
+    private final InstructionCosts costs;
+
+    /**
+     * Plans by turning right only, as {@link Robot#moveTo(robot.Coordinates)}
+     * always did.
+     */
+    public ManhattanPlanner()
+    {
+        this(null);
+    }
+
+    /**
+     * Plans the cheapest road books.
+     * 
+     * @param costs The cost of each instruction.
+     */
+    public ManhattanPlanner(InstructionCosts costs)
+    {
+        this.costs = costs;
+    }
+
+    @Override
+    public RoadBook plan(Direction direction, Coordinates position, Coordinates destination)
+    {
+        if(null == this.costs)
+        {
+            return RoadBookCalculator.calculateRoadBook(direction, position, destination);
+        }
+        
+        return RoadBookCalculator.calculateRoadBook(direction, position, destination, this.costs);
+    }
+}
@@ -1,77 +1,101 @@
 package robot;
 
-import static robot.Direction.*;
-
 public class MapTools
 {
+    /**
+     * The directions, indexed by ordinal. They are declared counterclockwise,
+     * so that a quarter turn to the left adds one to the ordinal and a
+     * quarter turn to the right removes one, modulo 4.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Unit moves towards each direction, indexed by {@link Direction#ordinal()}.
+     */
+    static final int[] DX = {0, -1, 0, 1};
+    static final int[] DY = {1, 0, -1, 0};
+
     static Coordinates nextForwardPosition(Coordinates position, Direction direction)
     {
-        if(direction == NORTH)
-        {
-            return new Coordinates(position.getX(), position.getY() + 1);
-        }
-        if(direction == SOUTH)
-        {
-            return new Coordinates(position.getX(), position.getY() - 1);
-        }
-        if(direction == EAST)
-        {
-            return new Coordinates(position.getX() + 1, position.getY());
-        }
-        // return new Coordinates(position.getX() + 1, position.getY());
-        return new Coordinates(position.getX() - 1, position.getY());
+        int heading = direction.ordinal();
+        return new Coordinates(position.getX() + DX[heading], position.getY() + DY[heading]);
     }
 
     static Coordinates nextBackwardPosition(Coordinates position, Direction direction)
     {
-        if(direction == NORTH)
-        {
-            return new Coordinates(position.getX(), position.getY() - 1);
-        }
-        if(direction == SOUTH)
-        {
-            return new Coordinates(position.getX(), position.getY() + 1);
-        }
-        if(direction == EAST)
-        {
-            return new Coordinates(position.getX() - 1, position.getY());
-        }
-        return new Coordinates(position.getX() + 1, position.getY());
+        int heading = direction.ordinal();
+        return new Coordinates(position.getX() - DX[heading], position.getY() - DY[heading]);
+    }
+
+    /**
+     * Same as {@link #nextForwardPosition(Coordinates, Direction)}, on a
+     * packed position.
+     *
+     * @see Coordinates#pack(int, int)
+     */
+    static long nextForwardPosition(long position, Direction direction)
+    {
+        return move(position, direction, 1);
+    }
+
+    /**
+     * Same as {@link #nextBackwardPosition(Coordinates, Direction)}, on a
+     * packed position.
+     *
+     * @see Coordinates#pack(int, int)
+     */
+    static long nextBackwardPosition(long position, Direction direction)
+    {
+        return move(position, direction, -1);
+    }
+
+    /**
+     * @param position A packed position.
+     * @param direction The direction of the move.
+     * @param steps The number of cells to move, negative to move backward.
+     * @return The packed position reached.
+     */
+    static long move(long position, Direction direction, int steps)
+    {
+        int heading = direction.ordinal();
+        return Coordinates.pack(
+            Coordinates.xOf(position) + steps * DX[heading],
+            Coordinates.yOf(position) + steps * DY[heading]
+        );
     }
 
     static Direction counterclockwise(Direction direction)
     {
-        if(direction == NORTH)
-        {
-            return WEST;
-        }
-        if(direction == WEST)
-        {
-            return SOUTH;
-        }
-        if(direction == SOUTH)
-        {
-            return EAST;
-        }
-        // return SOUTH;
-        return NORTH;
+        return rotate(direction, -1);
     }
 
     static Direction clockwise(Direction direction)
     {
-        if(direction == NORTH)
-        {
-            return EAST;
-        }
-        if(direction == EAST)
-        {
-            return SOUTH;
-        }
-        if(direction == SOUTH)
-        {
-            // return EAST;
-            return WEST;
-        }
-        return NORTH;
+        return rotate(direction, 1);
+    }
+
+    static Direction opposite(Direction direction)
+    {
+        return rotate(direction, 2);
+    }
+
+    /**
+     * @param direction The initial direction.
+     * @param quarterTurns The number of quarter turns to the right, negative
+     * to turn left.
+     * @return The direction faced after turning.
+     */
+    static Direction rotate(Direction direction, int quarterTurns)
+    {
+        return DIRECTIONS[(direction.ordinal() - quarterTurns) & 3];
+    }
+
+    /**
+     * @return The number of quarter turns to the right needed to face to
+     * from from, between 0 and 3.
+     */
+    static int clockwiseTurns(Direction from, Direction to)
+    {
+        return (from.ordinal() - to.ordinal()) & 3;
     }
 }
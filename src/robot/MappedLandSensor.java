@@ -0,0 +1,192 @@
+package robot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Land sensor reading the coefficient of each cell in a terrain file written
+ * by {@link TerrainFiles}, mapped in memory : opening a file of several GB
+ * only maps it, and lookups read the floats straight from the mapped pages.
+ * 
+ * The coefficient of a move is the mean of the coefficients of its two ends.
+ * The sensor may be shared between threads.
+ */
+public class MappedLandSensor extends LandSensor implements Closeable
+{
+    private final FileChannel channel;
+    private final int originX;
+    private final int originY;
+    private final int width;
+    private final int height;
+    private final int tileBits;
+    private final int tilesX;
+
+    /**
+     * The tiles, in buffers of at most 2 GB holding tilesPerBuffer tiles each.
+     */
+    private final ByteBuffer[] buffers;
+    private final int tilesPerBuffer;
+
+    /**
+     * @param file The terrain file.
+     * @throws IOException If the file cannot be read or is not a terrain file.
+     */
+    public MappedLandSensor(Path file) throws IOException
+    {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        
+        try
+        {
+            ByteBuffer header = ByteBuffer.allocate(TerrainFiles.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            
+            while(header.hasRemaining() && this.channel.read(header, header.position()) >= 0)
+            {
+            }
+            
+            header.flip();
+            
+            if(header.remaining() < TerrainFiles.HEADER_SIZE || header.getInt() != TerrainFiles.MAGIC)
+            {
+                throw new IOException(file + " is not a terrain file");
+            }
+            
+            if(header.getInt() != TerrainFiles.VERSION)
+            {
+                throw new IOException(file + " has an unsupported terrain file version");
+            }
+            
+            this.originX = header.getInt();
+            this.originY = header.getInt();
+            this.width = header.getInt();
+            this.height = header.getInt();
+            int tileSize = header.getInt();
+            
+            if(this.width <= 0 || this.height <= 0 || tileSize <= 0 || Integer.bitCount(tileSize) != 1)
+            {
+                throw new IOException(file + " has an invalid terrain header");
+            }
+            
+            this.tileBits = Integer.numberOfTrailingZeros(tileSize);
+            this.tilesX = (this.width + tileSize - 1) / tileSize;
+            int tilesY = (this.height + tileSize - 1) / tileSize;
+            long tileBytes = (long) tileSize * tileSize * Float.BYTES;
+            long tiles = (long) this.tilesX * tilesY;
+            
+            if(this.channel.size() < TerrainFiles.HEADER_SIZE + tiles * tileBytes)
+            {
+                throw new IOException(file + " is truncated");
+            }
+            
+            this.tilesPerBuffer = (int) Math.max(1, Integer.MAX_VALUE / tileBytes);
+            this.buffers = new ByteBuffer[(int) ((tiles + this.tilesPerBuffer - 1) / this.tilesPerBuffer)];
+            
+            for(int i = 0; i < this.buffers.length; i++)
+            {
+                long first = (long) i * this.tilesPerBuffer;
+                long count = Math.min(this.tilesPerBuffer, tiles - first);
+                this.buffers[i] = this.channel
+                    .map(FileChannel.MapMode.READ_ONLY, TerrainFiles.HEADER_SIZE + first * tileBytes, count * tileBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        catch(IOException | RuntimeException ex)
+        {
+            this.channel.close();
+            throw ex;
+        }
+    }
+
+    public int getOriginX()
+    {
+        return this.originX;
+    }
+
+    public int getOriginY()
+    {
+        return this.originY;
+    }
+
+    public int getWidth()
+    {
+        return this.width;
+    }
+
+    public int getHeight()
+    {
+        return this.height;
+    }
+
+    /**
+     * The file may hold any coefficient, and finding the lowest one would read
+     * it all : no bound is known.
+     */
+    @Override
+    public double getMinimumCoefficient()
+    {
+        return 0;
+    }
+
+    /**
+     * Same contract as the random sensor : the coefficient between a point and
+     * itself is not a number.
+     */
+    @Override
+    public double getPointToPointEnergyCoefficient(Coordinates coordinate1, Coordinates coordinate2)
+    {
+        return this.getPointToPointEnergyCoefficient(coordinate1.pack(), coordinate2.pack());
+    }
+
+    @Override
+    protected boolean hasPackedCoefficients()
+    {
+        return true;
+    }
+
+    @Override
+    public double getPointToPointEnergyCoefficient(long position1, long position2)
+    {
+        if(position1 == position2)
+        {
+            return Double.NaN;
+        }
+        
+        return (this.getCellCoefficient(Coordinates.xOf(position1), Coordinates.yOf(position1)) + this.getCellCoefficient(Coordinates.xOf(position2), Coordinates.yOf(position2))) / 2;
+    }
+
+    /**
+     * @return The energy coefficient of the cell (x ; y).
+     * @throws IndexOutOfBoundsException If the cell is out of the terrain.
+     */
+    public float getCellCoefficient(int x, int y)
+    {
+        int column = x - this.originX;
+        int line = y - this.originY;
+        
+        if(column < 0 || line < 0 || column >= this.width || line >= this.height)
+        {
+            throw new IndexOutOfBoundsException("(" + x + " ; " + y + ") is out of the terrain");
+        }
+        
+        int mask = (1 << this.tileBits) - 1;
+        long tile = (long) (line >>> this.tileBits) * this.tilesX + (column >>> this.tileBits);
+        int cell = (line & mask) << this.tileBits | (column & mask);
+        int offset = (int) (tile % this.tilesPerBuffer << (2 * this.tileBits)) + cell;
+        
+        return this.buffers[(int) (tile / this.tilesPerBuffer)].getFloat(offset * Float.BYTES);
+    }
+
+    /**
+     * Closes the file. The mapped pages are released once the sensor is no
+     * longer referenced.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.channel.close();
+    }
+}
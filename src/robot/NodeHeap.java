@@ -0,0 +1,132 @@
+package robot;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of grid cell indexes, ordered by cost then by estimated
+ * remaining cost, stored in primitive arrays.
+ * 
+ * A cell may be pushed several times with decreasing costs : the stale
+ * entries are skipped by the planners once the cell is closed.
+ */
+class NodeHeap
+{
+    private int[] nodes;
+    private double[] costs;
+    private double[] estimates;
+    private int size;
+
+    NodeHeap()
+    {
+        this.nodes = new int[256];
+        this.costs = new double[256];
+        this.estimates = new double[256];
+    }
+
+    boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    void clear()
+    {
+        this.size = 0;
+    }
+
+    /**
+     * @param node The cell index.
+     * @param cost The estimated cost of the whole path through the cell.
+     * @param estimate The estimated cost from the cell to the goal, breaking
+     * ties in favour of the cells closest to it.
+     */
+    void push(int node, double cost, double estimate)
+    {
+        if(this.size == this.nodes.length)
+        {
+            this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+            this.costs = Arrays.copyOf(this.costs, this.size * 2);
+            this.estimates = Arrays.copyOf(this.estimates, this.size * 2);
+        }
+        
+        // Sift up
+        int hole = this.size++;
+        
+        while(hole > 0)
+        {
+            int parent = (hole - 1) >>> 1;
+            
+            if(!this.isBefore(cost, estimate, parent))
+            {
+                break;
+            }
+            
+            this.move(parent, hole);
+            hole = parent;
+        }
+        
+        this.nodes[hole] = node;
+        this.costs[hole] = cost;
+        this.estimates[hole] = estimate;
+    }
+
+    /**
+     * @return The cell with the lowest cost, removed from the heap.
+     */
+    int pop()
+    {
+        int top = this.nodes[0];
+        int last = --this.size;
+        int node = this.nodes[last];
+        double cost = this.costs[last];
+        double estimate = this.estimates[last];
+        
+        // Sift down
+        int hole = 0;
+        
+        while(true)
+        {
+            int child = 2 * hole + 1;
+            
+            if(child >= last)
+            {
+                break;
+            }
+            
+            if(child + 1 < last && this.isBefore(this.costs[child + 1], this.estimates[child + 1], child))
+            {
+                child++;
+            }
+            
+            if(!this.isBefore(this.costs[child], this.estimates[child], cost, estimate))
+            {
+                break;
+            }
+            
+            this.move(child, hole);
+            hole = child;
+        }
+        
+        this.nodes[hole] = node;
+        this.costs[hole] = cost;
+        this.estimates[hole] = estimate;
+        
+        return top;
+    }
+
+    private boolean isBefore(double cost, double estimate, int index)
+    {
+        return this.isBefore(cost, estimate, this.costs[index], this.estimates[index]);
+    }
+
+    private boolean isBefore(double cost, double estimate, double otherCost, double otherEstimate)
+    {
+        return cost < otherCost || (cost == otherCost && estimate < otherEstimate);
+    }
+
+    private void move(int from, int to)
+    {
+        this.nodes[to] = this.nodes[from];
+        this.costs[to] = this.costs[from];
+        this.estimates[to] = this.estimates[from];
+    }
+}
@@ -0,0 +1,191 @@
+package robot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Road book storing each instruction on 2 bits, 32 instructions per long.
+ * 
+ * Instructions are appended one by one or in bulk, read back in order through
+ * {@link #hasInstruction()}/{@link #next()} without any allocation, or read
+ * at random through {@link #get(int)}.
+ */
+public class PackedRoadBook extends RoadBook
+{
+    private static final Instruction[] INSTRUCTIONS = Instruction.values();
+    private static final int BITS = 2;
+    private static final int PER_WORD = Long.SIZE / BITS;
+    private static final long MASK = (1L << BITS) - 1;
+
+    /**
+     * A word filled with 01 pairs : ordinal * REPEAT fills a word with one
+     * instruction.
+     */
+    private static final long REPEAT = 0x5555555555555555L;
+
+    private long[] words;
+    private int size;
+    private int cursor;
+
+    public PackedRoadBook()
+    {
+        this(PER_WORD);
+    }
+
+    /**
+     * @param capacity The number of instructions to make room for.
+     */
+    public PackedRoadBook(int capacity)
+    {
+        this.words = new long[Math.max(1, (capacity + PER_WORD - 1) / PER_WORD)];
+    }
+
+    /**
+     * @param instructions The instructions to pack.
+     */
+    public PackedRoadBook(List<Instruction> instructions)
+    {
+        this(instructions.size());
+        
+        for(Instruction instruction : instructions)
+        {
+            this.append(instruction);
+        }
+    }
+
+    /**
+     * Appends one instruction at the end of the road book.
+     * 
+     * @param instruction The instruction to append.
+     */
+    public void append(Instruction instruction)
+    {
+        this.ensureCapacity(this.size + 1);
+        this.words[this.size / PER_WORD] |= (long) instruction.ordinal() << (this.size % PER_WORD * BITS);
+        this.size++;
+    }
+
+    /**
+     * Appends the same instruction several times, filling whole words at once.
+     * 
+     * @param instruction The instruction to append.
+     * @param count The number of times to append it.
+     */
+    public void append(Instruction instruction, int count)
+    {
+        if(count <= 0)
+        {
+            return;
+        }
+        
+        this.ensureCapacity(this.size + count);
+        long filled = instruction.ordinal() * REPEAT;
+        int end = this.size + count;
+        
+        // Head, up to the next word boundary
+        while(this.size < end && this.size % PER_WORD != 0)
+        {
+            this.words[this.size / PER_WORD] |= (long) instruction.ordinal() << (this.size % PER_WORD * BITS);
+            this.size++;
+        }
+        
+        // Whole words
+        while(end - this.size >= PER_WORD)
+        {
+            this.words[this.size / PER_WORD] = filled;
+            this.size += PER_WORD;
+        }
+        
+        // Tail
+        if(this.size < end)
+        {
+            this.words[this.size / PER_WORD] = filled & ((1L << ((end - this.size) * BITS)) - 1);
+            this.size = end;
+        }
+    }
+
+    /**
+     * @param index The index of the instruction, starting from 0.
+     * @return The instruction at the given index.
+     */
+    public Instruction get(int index)
+    {
+        if(index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        
+        return INSTRUCTIONS[(int) (this.words[index / PER_WORD] >>> (index % PER_WORD * BITS) & MASK)];
+    }
+
+    /**
+     * @return The number of instructions in the road book.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * @return The index of the instruction returned by the next call to
+     * {@link #next()}.
+     */
+    public int position()
+    {
+        return this.cursor;
+    }
+
+    @Override
+    public boolean hasInstruction()
+    {
+        return this.cursor < this.size;
+    }
+
+    @Override
+    public Instruction next()
+    {
+        return this.get(this.cursor++);
+    }
+
+    @Override
+    public int skipRepeats(Instruction instruction)
+    {
+        int start = this.cursor;
+        
+        while(this.cursor < this.size && this.get(this.cursor) == instruction)
+        {
+            this.cursor++;
+        }
+        
+        return this.cursor - start;
+    }
+
+    /**
+     * Copies the used words only, 2 bits per instruction.
+     */
+    @Override
+    public PackedRoadBook snapshot()
+    {
+        PackedRoadBook snapshot = new PackedRoadBook(0);
+        snapshot.words = Arrays.copyOf(this.words, Math.max(1, (this.size + PER_WORD - 1) / PER_WORD));
+        snapshot.size = this.size;
+        
+        return snapshot;
+    }
+
+    @Override
+    public void rewind()
+    {
+        this.cursor = 0;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        int needed = (capacity + PER_WORD - 1) / PER_WORD;
+        
+        if(needed > this.words.length)
+        {
+            this.words = Arrays.copyOf(this.words, Math.max(needed, this.words.length * 2));
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package robot;
 
-import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 public class RoadBook
 {
     private List<Instruction> instructions;
-    private final Iterator<Instruction> instructionIterator;
+    private ListIterator<Instruction> instructionIterator;
 
     public RoadBook(List<Instruction> instructions)
     {
         this.instructions = instructions;
-        instructionIterator = instructions.iterator();
+        instructionIterator = instructions.listIterator();
+    }
+
+    /**
+     * For road books storing their instructions themselves, which must
+     * override every public method.
+     */
+    protected RoadBook()
+    {
     }
 
     public boolean hasInstruction()
@@ -24,4 +32,54 @@ public class RoadBook
         return instructionIterator.next();
     }
 
+    /**
+     * Consumes the instructions following the last one returned by next(),
+     * as long as they are equal to the given instruction.
+     *
+     * @param instruction The repeated instruction.
+     * @return The number of instructions consumed.
+     */
+    public int skipRepeats(Instruction instruction)
+    {
+        int repeats = 0;
+        while(instructionIterator.hasNext())
+        {
+            if(instructionIterator.next() != instruction)
+            {
+                instructionIterator.previous();
+                break;
+            }
+            repeats++;
+        }
+        return repeats;
+    }
+
+    /**
+     * @return Whether {@link #rewind()} can go back to the first instruction,
+     * false for road books forgetting the instructions once followed.
+     */
+    public boolean isRewindable()
+    {
+        return true;
+    }
+
+    /**
+     * @return A road book holding the same instructions, from the first one,
+     * with its own cursor : this one is left untouched.
+     * @throws UnsupportedOperationException If the road book can't be
+     * rewound, see {@link #isRewindable()}.
+     */
+    public RoadBook snapshot()
+    {
+        return new RoadBook(this.instructions);
+    }
+
+    /**
+     * Goes back to the first instruction.
+     */
+    public void rewind()
+    {
+        instructionIterator = instructions.listIterator();
+    }
+
 }
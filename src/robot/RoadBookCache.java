@@ -0,0 +1,237 @@
+package robot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Planner remembering the road books of another one, by initial direction
+ * and displacement towards the destination : on a grid without obstacles,
+ * such as the one of {@link ManhattanPlanner}, the road book does not depend
+ * on where the trip starts, so robots shuttling back and forth reuse the same
+ * few road books.
+ * 
+ * A computed road book is kept as a template never followed itself : each
+ * call hands out a view of its runs with its own cursor, so the same runs
+ * are shared by any number of robots and threads.
+ * 
+ * The entries are spread over {@link #SEGMENTS} segments by a hash of both
+ * the direction and the displacement, so that a fleet mostly heading one way
+ * still uses them all. Each segment is locked on its own and evicts its
+ * least recently used entry when full, so the cache never holds more than
+ * the given maximum rounded up to a multiple of {@link #SEGMENTS} road books.
+ */
+public class RoadBookCache implements RoadBookPlanner
+{
+    private static final int SEGMENT_BITS = 4;
+    static final int SEGMENTS = 1 << SEGMENT_BITS;
+
+    private static final Coordinates ORIGIN = new Coordinates(0, 0);
+
+    private final RoadBookPlanner planner;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param planner The planner computing the missing road books, which
+     * must only depend on the direction and the displacement.
+     * @param maximumEntries The number of road books to keep at most.
+     */
+    public RoadBookCache(RoadBookPlanner planner, int maximumEntries)
+    {
+        if(maximumEntries <= 0)
+        {
+            throw new IllegalArgumentException("The cache must hold at least one road book");
+        }
+        
+        this.planner = planner;
+        this.segments = new Segment[SEGMENTS];
+        
+        for(int i = 0; i < SEGMENTS; i++)
+        {
+            this.segments[i] = new Segment((maximumEntries + SEGMENTS - 1) / SEGMENTS);
+        }
+    }
+
+    @Override
+    public RoadBook plan(Direction direction, Coordinates position, Coordinates destination) throws UnreachableDestinationException
+    {
+        int dx = destination.getX() - position.getX();
+        int dy = destination.getY() - position.getY();
+        Key key = new Key(direction, Coordinates.pack(dx, dy));
+        Segment segment = this.segments[key.segment()];
+        RunLengthRoadBook template;
+        
+        // Reads reorder the entries too
+        synchronized(segment)
+        {
+            template = segment.get(key);
+        }
+        
+        if(null != template)
+        {
+            this.hits.increment();
+            
+            return template.view();
+        }
+        
+        // Computed outside the lock : two threads missing together both plan
+        this.misses.increment();
+        template = toRuns(this.planner.plan(direction, ORIGIN, new Coordinates(dx, dy)));
+        
+        synchronized(segment)
+        {
+            RunLengthRoadBook cached = segment.putIfAbsent(key, template);
+            
+            if(null != cached)
+            {
+                template = cached;
+            }
+        }
+        
+        return template.view();
+    }
+
+    /**
+     * @return The number of road books found in the cache.
+     */
+    public long getHits()
+    {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return The number of road books computed by the underlying planner.
+     */
+    public long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The number of road books evicted to make room for others.
+     */
+    public long getEvictions()
+    {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return The number of road books in the cache.
+     */
+    public int size()
+    {
+        int size = 0;
+        
+        for(Segment segment : this.segments)
+        {
+            synchronized(segment)
+            {
+                size += segment.size();
+            }
+        }
+        
+        return size;
+    }
+
+    /**
+     * Forgets every road book, keeping the statistics.
+     */
+    public void clear()
+    {
+        for(Segment segment : this.segments)
+        {
+            synchronized(segment)
+            {
+                segment.clear();
+            }
+        }
+    }
+
+    private static RunLengthRoadBook toRuns(RoadBook book)
+    {
+        RunLengthRoadBook runs = new RunLengthRoadBook(4);
+        
+        while(book.hasInstruction())
+        {
+            Instruction instruction = book.next();
+            runs.append(instruction, 1 + book.skipRepeats(instruction));
+        }
+        
+        return runs;
+    }
+
+    /**
+     * Initial direction and packed displacement of a trip.
+     */
+    private static final class Key
+    {
+        private final Direction direction;
+        private final long displacement;
+        private final long hash;
+
+        private Key(Direction direction, long displacement)
+        {
+            this.direction = direction;
+            this.displacement = displacement;
+            this.hash = (displacement ^ direction.ordinal() * 0xC2B2AE3D27D4EB4FL) * 0x9E3779B97F4A7C15L;
+        }
+
+        /**
+         * @return The segment of the key, from the high bits of its hash :
+         * the maps of the segments bucket on the low ones.
+         */
+        private int segment()
+        {
+            return (int) (this.hash >>> (Long.SIZE - SEGMENT_BITS));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (int) (this.hash ^ (this.hash >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if(!(other instanceof Key))
+            {
+                return false;
+            }
+            
+            Key key = (Key) other;
+            
+            return this.direction == key.direction && this.displacement == key.displacement;
+        }
+    }
+
+    /**
+     * Road books by trip, from the least to the most recently used.
+     */
+    private class Segment extends LinkedHashMap<Key, RunLengthRoadBook>
+    {
+        private final int capacity;
+
+        private Segment(int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, RunLengthRoadBook> eldest)
+        {
+            if(this.size() <= this.capacity)
+            {
+                return false;
+            }
+            
+            RoadBookCache.this.evictions.increment();
+            
+            return true;
+        }
+    }
+}
@@ -1,46 +1,188 @@
 package robot;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static robot.Direction.*;
 import static robot.Instruction.*;
 
 public class RoadBookCalculator
 {
-    static RoadBook calculateRoadBook(Direction direction, Coordinates position, Coordinates destination, ArrayList<Instruction> instructions)
+    /**
+     * Computes the road book leading from position to destination : the
+     * robot turns right until it faces a direction bringing it closer to the
+     * destination, walks until it is aligned with it, then does the same for
+     * the other axis.
+     * 
+     * The legs are computed from the coordinates deltas, in constant time
+     * whatever the distance.
+     * 
+     * @param direction The initial direction of the robot.
+     * @param position The initial position of the robot.
+     * @param destination The position to reach.
+     * @return The road book, made of at most four runs.
+     */
+    static RoadBook calculateRoadBook(Direction direction, Coordinates position, Coordinates destination)
     {
-        List<Direction> directionList = new ArrayList<Direction>();
-        if(destination.getX() < position.getX())
-        {
-            directionList.add(WEST);
-        }
-        if(destination.getX() > position.getX())
-        {
-            directionList.add(Direction.EAST);
-        }
-        if(destination.getY() < position.getY())
-        {
-            directionList.add(Direction.SOUTH);
-        }
-        if(destination.getY() > position.getY())
+        RunLengthRoadBook instructions = new RunLengthRoadBook(4);
+        int dx = destination.getX() - position.getX();
+        int dy = destination.getY() - position.getY();
+        Direction xDirection = dx < 0 ? WEST : EAST;
+        Direction yDirection = dy < 0 ? SOUTH : NORTH;
+        
+        while(dx != 0 || dy != 0)
         {
-            directionList.add(Direction.NORTH);
+            // The first useful direction met while turning right is taken
+            int xTurns = dx != 0 ? MapTools.clockwiseTurns(direction, xDirection) : Integer.MAX_VALUE;
+            int yTurns = dy != 0 ? MapTools.clockwiseTurns(direction, yDirection) : Integer.MAX_VALUE;
+            
+            if(xTurns < yTurns)
+            {
+                instructions.append(TURNRIGHT, xTurns);
+                instructions.append(FORWARD, Math.abs(dx));
+                direction = xDirection;
+                dx = 0;
+            }
+            else
+            {
+                instructions.append(TURNRIGHT, yTurns);
+                instructions.append(FORWARD, Math.abs(dy));
+                direction = yDirection;
+                dy = 0;
+            }
         }
-        if(directionList.isEmpty())
+        
+        return instructions;
+    }
+
+    /**
+     * Computes the cheapest road book leading from position to destination,
+     * turning left or right and moving forward or backward. Each axis is
+     * covered by one straight leg, in the order and heading minimizing the
+     * total cost of the instructions.
+     * 
+     * Moving backward draws as much energy as moving forward and turns draw
+     * none, so every road book reaching the destination this way needs the
+     * same energy : the costs rather weigh the dispatched instructions.
+     * 
+     * @param direction The initial direction of the robot.
+     * @param position The initial position of the robot.
+     * @param destination The position to reach.
+     * @param costs The cost of each instruction.
+     * @return The road book, made of at most four runs.
+     */
+    static RoadBook calculateRoadBook(Direction direction, Coordinates position, Coordinates destination, InstructionCosts costs)
+    {
+        RunLengthRoadBook instructions = new RunLengthRoadBook(4);
+        int dx = destination.getX() - position.getX();
+        int dy = destination.getY() - position.getY();
+        Direction[] legs = {dx < 0 ? WEST : EAST, dy < 0 ? SOUTH : NORTH};
+        int[] lengths = {Math.abs(dx), Math.abs(dy)};
+        
+        // Try both leg orders and both headings per leg, keep the cheapest
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestPlan = 0;
+        
+        for(int plan = 0; plan < 8; plan++)
         {
-            return new RoadBook(instructions);
+            double cost = 0;
+            Direction heading = direction;
+            
+            for(int leg = 0; leg < 2; leg++)
+            {
+                int axis = (plan & 4) == 0 ? leg : 1 - leg;
+                
+                if(lengths[axis] == 0)
+                {
+                    continue;
+                }
+                
+                boolean backward = (plan >> axis & 1) == 1;
+                Direction legHeading = backward ? MapTools.opposite(legs[axis]) : legs[axis];
+                cost += turnCost(heading, legHeading, costs);
+                cost += lengths[axis] * costs.getCost(backward ? BACKWARD : FORWARD);
+                heading = legHeading;
+            }
+            
+            if(cost < bestCost)
+            {
+                bestCost = cost;
+                bestPlan = plan;
+            }
         }
-        if(directionList.contains(direction))
+        
+        Direction heading = direction;
+        
+        for(int leg = 0; leg < 2; leg++)
         {
-            instructions.add(FORWARD);
-            return calculateRoadBook(direction, MapTools.nextForwardPosition(position, direction), destination, instructions);
+            int axis = (bestPlan & 4) == 0 ? leg : 1 - leg;
+            
+            if(lengths[axis] == 0)
+            {
+                continue;
+            }
+            
+            boolean backward = (bestPlan >> axis & 1) == 1;
+            Direction legHeading = backward ? MapTools.opposite(legs[axis]) : legs[axis];
+            int rightTurns = MapTools.clockwiseTurns(heading, legHeading);
+            
+            if(rightTurns * costs.getCost(TURNRIGHT) <= (4 - rightTurns) % 4 * costs.getCost(TURNLEFT))
+            {
+                instructions.append(TURNRIGHT, rightTurns);
+            }
+            else
+            {
+                instructions.append(TURNLEFT, (4 - rightTurns) % 4);
+            }
+            
+            instructions.append(backward ? BACKWARD : FORWARD, lengths[axis]);
+            heading = legHeading;
         }
-        else
+        
+        return instructions;
+    }
+
+    /**
+     * Computes the road book following a path of waypoints, each one aligned
+     * with the next one. The robot turns the shortest way towards each
+     * waypoint then moves forward to it.
+     * 
+     * @param direction The initial direction of the robot.
+     * @param xs The abscissas of the waypoints, from the destination back to
+     * the initial position.
+     * @param ys The ordinates of the waypoints, in the same order.
+     * @param count The number of waypoints.
+     * @return The road book.
+     */
+    static RoadBook followWaypoints(Direction direction, int[] xs, int[] ys, int count)
+    {
+        RunLengthRoadBook instructions = new RunLengthRoadBook();
+        
+        for(int i = count - 1; i > 0; i--)
         {
-            instructions.add(TURNRIGHT);
-            return calculateRoadBook(MapTools.clockwise(direction), position, destination, instructions);
+            int dx = xs[i - 1] - xs[i];
+            int dy = ys[i - 1] - ys[i];
+            Direction heading = dx < 0 ? WEST : dx > 0 ? EAST : dy < 0 ? SOUTH : NORTH;
+            int rightTurns = MapTools.clockwiseTurns(direction, heading);
+            
+            if(rightTurns == 3)
+            {
+                instructions.append(TURNLEFT, 1);
+            }
+            else
+            {
+                instructions.append(TURNRIGHT, rightTurns);
+            }
+            
+            instructions.append(FORWARD, Math.abs(dx) + Math.abs(dy));
+            direction = heading;
         }
+        
+        return instructions;
+    }
+
+    private static double turnCost(Direction from, Direction to, InstructionCosts costs)
+    {
+        int rightTurns = MapTools.clockwiseTurns(from, to);
+        
+        return Math.min(rightTurns * costs.getCost(TURNRIGHT), (4 - rightTurns) % 4 * costs.getCost(TURNLEFT));
     }
 
 }
@@ -0,0 +1,232 @@
+package robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binary road book files, loaded as {@link BufferRoadBook}s.
+ * 
+ * Layout, little endian :
+ * <pre>
+ * header (32 bytes) : magic "RBOK", version (short), encoding (byte),
+ *                     direction ordinal (byte), start abscissa, start
+ *                     ordinate, length (long), CRC32 of the payload, zero
+ * payload           : PACKED     : length instructions on 2 bits each, 32
+ *                                  per long, from the low bits up
+ *                     RUN_LENGTH : length runs, one int each : the count
+ *                                  on the high 30 bits, the instruction
+ *                                  ordinal on the low 2 bits
+ * </pre>
+ */
+public class RoadBookFiles
+{
+    static final int MAGIC = 0x4B4F4252;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * Longest run held by one int of a run-length payload.
+     */
+    static final int MAX_RUN = (1 << 30) - 1;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * How the instructions are stored.
+     */
+    public enum Encoding
+    {
+        /**
+         * 2 bits per instruction, for road books turning often.
+         */
+        PACKED,
+
+        /**
+         * 4 bytes per run of identical instructions, for road books made of
+         * long straight legs.
+         */
+        RUN_LENGTH
+    }
+
+    private RoadBookFiles()
+    {
+    }
+
+    /**
+     * Writes a road book.
+     * 
+     * @param file The file to write.
+     * @param start The position the road book starts from.
+     * @param direction The direction the road book starts with.
+     * @param book The road book, read until its end.
+     * @param encoding How to store the instructions.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Coordinates start, Direction direction, RoadBook book, Encoding encoding) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            Payload payload = new Payload(channel);
+            long length = encoding == Encoding.PACKED ? writePacked(book, payload) : writeRunLength(book, payload);
+            payload.flush();
+            
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) encoding.ordinal())
+                .put((byte) direction.ordinal())
+                .putInt(start.getX())
+                .putInt(start.getY())
+                .putLong(length)
+                .putInt((int) payload.checksum.getValue())
+                .putInt(0);
+            header.flip();
+            
+            while(header.hasRemaining())
+            {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    /**
+     * Maps a road book file in memory : the instructions are read straight
+     * from the file pages, whatever its size.
+     * 
+     * @param file The file to load.
+     * @return The road book.
+     * @throws IOException If the file cannot be read or is not a road book.
+     * @see BufferRoadBook#verify()
+     */
+    public static BufferRoadBook map(Path file) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            return BufferRoadBook.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static long writePacked(RoadBook book, Payload payload) throws IOException
+    {
+        long length = 0;
+        long word = 0;
+        
+        while(book.hasInstruction())
+        {
+            Instruction instruction = book.next();
+            int count = 1 + book.skipRepeats(instruction);
+            
+            for(int i = 0; i < count; i++)
+            {
+                word |= (long) instruction.ordinal() << (length % 32 * 2);
+                
+                if(++length % 32 == 0)
+                {
+                    payload.putLong(word);
+                    word = 0;
+                }
+            }
+        }
+        
+        if(length % 32 != 0)
+        {
+            payload.putLong(word);
+        }
+        
+        return length;
+    }
+
+    private static long writeRunLength(RoadBook book, Payload payload) throws IOException
+    {
+        long runs = 0;
+        Instruction pending = null;
+        long count = 0;
+        
+        while(book.hasInstruction())
+        {
+            Instruction instruction = book.next();
+            int repeats = 1 + book.skipRepeats(instruction);
+            
+            if(instruction == pending)
+            {
+                count += repeats;
+                continue;
+            }
+            
+            runs += putRuns(payload, pending, count);
+            pending = instruction;
+            count = repeats;
+        }
+        
+        return runs + putRuns(payload, pending, count);
+    }
+
+    private static int putRuns(Payload payload, Instruction instruction, long count) throws IOException
+    {
+        int runs = 0;
+        
+        for(; count > 0; count -= MAX_RUN)
+        {
+            payload.putInt((int) Math.min(count, MAX_RUN) << 2 | instruction.ordinal());
+            runs++;
+        }
+        
+        return runs;
+    }
+
+    /**
+     * Payload written after the header by chunks, its checksum computed on
+     * the way.
+     */
+    private static class Payload
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 checksum = new CRC32();
+        private long position = HEADER_SIZE;
+
+        private Payload(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        private void putLong(long value) throws IOException
+        {
+            if(this.buffer.remaining() < Long.BYTES)
+            {
+                this.flush();
+            }
+            
+            this.buffer.putLong(value);
+        }
+
+        private void putInt(int value) throws IOException
+        {
+            if(this.buffer.remaining() < Integer.BYTES)
+            {
+                this.flush();
+            }
+            
+            this.buffer.putInt(value);
+        }
+
+        private void flush() throws IOException
+        {
+            this.buffer.flip();
+            this.checksum.update(this.buffer.duplicate());
+            
+            while(this.buffer.hasRemaining())
+            {
+                this.position += this.channel.write(this.buffer, this.position);
+            }
+            
+            this.buffer.clear();
+        }
+    }
+}
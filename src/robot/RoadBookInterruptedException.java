@@ -0,0 +1,15 @@
+package robot;
+
+/**
+ * Thrown by a road book whose reader was interrupted while waiting for its
+ * next instruction, such as a {@link StreamingRoadBook} : the road book is
+ * not over, it has been cut short. {@link Robot#letsGo()} rethrows it as an
+ * {@link InterruptedException}.
+ */
+public class RoadBookInterruptedException extends RuntimeException
+{
+    public RoadBookInterruptedException(InterruptedException cause)
+    {
+        super("La lecture du carnet de route a été interrompue", cause);
+    }
+}
@@ -0,0 +1,17 @@
+package robot;
+
+/**
+ * Computes the road book leading a robot to a destination.
+ */
+public interface RoadBookPlanner
+{
+    /**
+     * @param direction The initial direction of the robot.
+     * @param position The initial position of the robot.
+     * @param destination The position to reach.
+     * @return The road book leading to the destination.
+     * @throws UnreachableDestinationException If no path leads to the
+     * destination.
+     */
+    RoadBook plan(Direction direction, Coordinates position, Coordinates destination) throws UnreachableDestinationException;
+}
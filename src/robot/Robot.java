@@ -1,24 +1,53 @@
 package robot;
 
-import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static robot.Direction.*;
 import static robot.Instruction.*;
 
 public class Robot
 {
-    private Coordinates position;
+    /**
+     * Position packed by {@link Coordinates#pack(int, int)}, so that moving
+     * allocates nothing.
+     */
+    private long position;
     private Direction direction;
     private boolean isLanded;
     private RoadBook roadBook;
+    private RoadBookPlanner planner;
     private Battery cell;
     private LandSensor sensor;
     
+    /**
+     * Station granting the energy of a shared battery, null to draw from the
+     * battery directly.
+     */
+    private ChargingStation station;
+    
+    /**
+     * Recorded activity, null to record nothing.
+     */
+    private RobotMetrics metrics;
+    
     /**
      * Energie ideale consommee pour la realisation d'une action.
      */
     private final double energyConsumption;
+    
+    /**
+     * Time source the robot waits on while its battery charges.
+     */
+    private final TimeSource timeSource;
+    
+    /**
+     * Activity counters, reported by {@link FleetExecutor}.
+     */
+    private long executedInstructions;
+    private double consumedEnergy;
+    private long chargeWaitTime;
 
     public Robot()
     {
@@ -31,16 +60,38 @@ public class Robot
     }
 
     public Robot(double energyConsumption, Battery cell, LandSensor sensor)
+    {
+        this(energyConsumption, cell, sensor, TimeSource.SYSTEM);
+    }
+
+    /**
+     * @param energyConsumption The ideal energy consumed by a move.
+     * @param cell The battery, which should count time on the same source.
+     * @param sensor The land sensor.
+     * @param timeSource The time source waited on while the battery charges.
+     */
+    public Robot(double energyConsumption, Battery cell, LandSensor sensor, TimeSource timeSource)
     {
         this.isLanded = false;
         this.energyConsumption = energyConsumption;
         this.cell = cell;
         this.sensor = sensor;
+        this.timeSource = timeSource;
+        this.planner = new ManhattanPlanner();
         
         this.cell.setUp();
     }
 
     public void land(Coordinates landPosition)
+    {
+        this.land(landPosition.pack());
+    }
+
+    /**
+     * @param landPosition The landing position, packed by
+     * {@link Coordinates#pack(int, int)}.
+     */
+    public void land(long landPosition)
     {
         this.position = landPosition;
         this.direction = NORTH;
@@ -54,7 +105,7 @@ public class Robot
             throw new UnlandedRobotException();
         }
         
-        return this.position.getX();
+        return Coordinates.xOf(this.position);
     }
 
     public int getYposition() throws UnlandedRobotException
@@ -64,7 +115,21 @@ public class Robot
             throw new UnlandedRobotException();
         }
         
-        return this.position.getY();
+        return Coordinates.yOf(this.position);
+    }
+
+    /**
+     * @return The position, packed by {@link Coordinates#pack(int, int)}.
+     * @throws UnlandedRobotException If the robot hasn't landed yet.
+     */
+    public long getPackedPosition() throws UnlandedRobotException
+    {
+        if(!this.isLanded)
+        {
+            throw new UnlandedRobotException();
+        }
+        
+        return this.position;
     }
 
     public Direction getDirection() throws UnlandedRobotException
@@ -84,73 +149,332 @@ public class Robot
      * @throws InterruptedException If the thread cannot be put to sleep.
      */
     public void moveForward() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        this.moveForward(1);
+    }
+
+    /**
+     * Moves forward several cells at once : the energy of every step is
+     * summed up, waited for and drawn from the battery once, and the
+     * position is updated once.
+     * 
+     * @param steps The number of cells to move forward.
+     * @throws UnlandedRobotException If the robot hasn't landed yet.
+     * @throws InsufficientChargeException If the robot tries doing something it doesn't
+     * have enough energy for.
+     * @throws InterruptedException If the thread cannot be put to sleep.
+     */
+    public void moveForward(int steps) throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        this.move(steps, false);
+    }
+
+    /**
+     * @throws UnlandedRobotException If the robot hasn't landed yet.
+     * @throws InsufficientChargeException If the robot tries doing something it doesn't
+     * have enough energy for.
+     * @throws InterruptedException If the thread cannot be put to sleep.
+     */
+    public void moveBackward() throws UnlandedRobotException, InterruptedException, InsufficientChargeException
+    {
+        this.moveBackward(1);
+    }
+
+    /**
+     * Moves backward several cells at once.
+     * 
+     * @param steps The number of cells to move backward.
+     * @throws UnlandedRobotException If the robot hasn't landed yet.
+     * @throws InsufficientChargeException If the robot tries doing something it doesn't
+     * have enough energy for.
+     * @throws InterruptedException If the thread cannot be put to sleep.
+     * @see #moveForward(int)
+     */
+    public void moveBackward(int steps) throws UnlandedRobotException, InterruptedException, InsufficientChargeException
+    {
+        this.move(steps, true);
+    }
+
+    private void move(int steps, boolean backward) throws UnlandedRobotException, InsufficientChargeException, InterruptedException
     {
         if(!this.isLanded)
         {
             throw new UnlandedRobotException();
         }
         
-        /*
-        // MapTools.nextForwardPosition(position, direction);
-        position = MapTools.nextForwardPosition(position, direction);
-        */
+        long start = null != this.metrics ? System.nanoTime() : 0;
         
-        // Use the land sensor to modulate the consumed energy
-        Coordinates nextPosition = MapTools.nextForwardPosition(this.position, this.direction);
-        double requiredEnergy = this.energyConsumption * this.sensor.getPointToPointEnergyCoefficient(this.position, nextPosition);
+        // Use the land sensor to modulate the energy consumed by each step
+        long nextPosition = this.position;
+        double requiredEnergy = 0;
         
-        // If there isn't enough energy, wait for the battery to charge itself
-        if(this.cell.getChargeLevel() < requiredEnergy)
+        for(int step = 0; step < steps; step++)
         {
-            do
+            long stepPosition = backward
+                ? MapTools.nextBackwardPosition(nextPosition, this.direction)
+                : MapTools.nextForwardPosition(nextPosition, this.direction);
+            requiredEnergy += this.energyConsumption * this.sensor.coefficient(nextPosition, stepPosition);
+            nextPosition = stepPosition;
+        }
+        
+        if(null != this.metrics)
+        {
+            this.metrics.countSensorCalls(steps);
+        }
+        
+        this.moveWhenCharged(nextPosition, requiredEnergy);
+        
+        if(null != this.metrics)
+        {
+            this.metrics.recordMove(backward, steps, requiredEnergy, System.nanoTime() - start);
+        }
+    }
+
+    private void moveWhenCharged(long nextPosition, double requiredEnergy) throws InsufficientChargeException, InterruptedException
+    {
+        if(null != this.station)
+        {
+            this.moveWhenGranted(nextPosition, requiredEnergy);
+            return;
+        }
+        
+        // Wait for the battery to charge itself while it doesn't hold enough
+        // energy, or a robot sharing it drew the energy first
+        while(!this.draw(requiredEnergy))
+        {
+            long waitTime = this.cell.timeToSufficientCharge(requiredEnergy);
+            
+            if(waitTime == Long.MAX_VALUE)
             {
-                Thread.sleep(this.cell.timeToSufficientCharge(requiredEnergy));
+                // The battery can never hold that much
+                throw new InsufficientChargeException();
             }
-            while(this.cell.getChargeLevel() < requiredEnergy);
+            
+            // At least a millisecond, so a failed draw never spins
+            waitTime = Math.max(1, waitTime);
+            this.chargeWaitTime += waitTime;
+            
+            if(null != this.metrics)
+            {
+                this.metrics.recordChargeWait(waitTime);
+            }
+            
+            this.timeSource.sleep(waitTime);
         }
         
-        // There is enough energy to move forward
-        this.cell.use(requiredEnergy);
+        this.consumedEnergy += requiredEnergy;
         this.position = nextPosition;
     }
 
     /**
-     * @throws UnlandedRobotException If the robot hasn't landed yet.
-     * @throws InsufficientChargeException If the robot tries doing something it doesn't
-     * have enough energy for.
-     * @throws InterruptedException If the thread cannot be put to sleep.
+     * Moves forward as soon as the battery holds enough energy, without
+     * blocking the calling thread while it charges : the move is scheduled
+     * for when the battery will be charged enough. No monitor is held while
+     * waiting, so this may be called from a virtual thread.
+     * 
+     * The robot mustn't be given another order before the returned future
+     * completes.
+     * 
+     * @param scheduler The scheduler used to wait for the battery.
+     * @return A future completed once the robot has moved, or completed
+     * exceptionally with {@link UnlandedRobotException} or
+     * {@link InsufficientChargeException}.
      */
-    public void moveBackward() throws UnlandedRobotException, InterruptedException, InsufficientChargeException
+    public CompletableFuture<Void> moveForwardAsync(Scheduler scheduler)
+    {
+        return this.moveAsync(1, false, scheduler);
+    }
+
+    /**
+     * Moves backward as soon as the battery holds enough energy, without
+     * blocking the calling thread while it charges.
+     * 
+     * @param scheduler The scheduler used to wait for the battery.
+     * @return A future completed once the robot has moved.
+     * @see #moveForwardAsync(robot.Scheduler)
+     */
+    public CompletableFuture<Void> moveBackwardAsync(Scheduler scheduler)
+    {
+        return this.moveAsync(1, true, scheduler);
+    }
+
+    private CompletableFuture<Void> moveAsync(int steps, boolean backward, Scheduler scheduler)
     {
         if(!this.isLanded)
         {
-            throw new UnlandedRobotException();
+            return failedFuture(new UnlandedRobotException());
+        }
+        
+        // Use the land sensor to modulate the energy consumed by each step
+        long nextPosition = this.position;
+        double requiredEnergy = 0;
+        
+        for(int step = 0; step < steps; step++)
+        {
+            long stepPosition = backward
+                ? MapTools.nextBackwardPosition(nextPosition, this.direction)
+                : MapTools.nextForwardPosition(nextPosition, this.direction);
+            requiredEnergy += this.energyConsumption * this.sensor.coefficient(nextPosition, stepPosition);
+            nextPosition = stepPosition;
+        }
+        
+        if(null != this.metrics)
+        {
+            this.metrics.countSensorCalls(steps);
+        }
+        
+        CompletableFuture<Void> move = new CompletableFuture<>();
+        
+        if(null != this.metrics)
+        {
+            long start = System.nanoTime();
+            double energy = requiredEnergy;
+            move.thenRun(() -> this.metrics.recordMove(backward, steps, energy, System.nanoTime() - start));
         }
         
-        /*
-        // MapTools.nextForwardPosition(position, direction);
-        this.position = MapTools.nextBackwardPosition(this.position, this.direction);
-        */
+        if(null != this.station)
+        {
+            this.moveWhenGranted(nextPosition, requiredEnergy, move);
+        }
+        else
+        {
+            this.moveWhenCharged(nextPosition, requiredEnergy, scheduler, move);
+        }
         
-        // Use the land sensor to modulate the consumed energy
-        Coordinates nextPosition = MapTools.nextBackwardPosition(this.position, this.direction);
-        double requiredEnergy = this.energyConsumption * this.sensor.getPointToPointEnergyCoefficient(this.position, nextPosition);
+        return move;
+    }
+
+    private void moveWhenGranted(long nextPosition, double requiredEnergy) throws InsufficientChargeException, InterruptedException
+    {
+        long start = this.timeSource.currentTimeMillis();
+        CompletableFuture<Void> grant = this.station.reserve(requiredEnergy);
         
-        // If there isn't enough energy, wait for the battery to charge itself
-        if(this.cell.getChargeLevel() < requiredEnergy)
+        try
+        {
+            grant.get();
+        }
+        catch(InterruptedException ex)
+        {
+            // Withdraw the request, giving the energy back if it was granted meanwhile
+            if(!grant.cancel(false) && !grant.isCompletedExceptionally())
+            {
+                this.station.getBattery().refund(requiredEnergy);
+            }
+            
+            throw ex;
+        }
+        catch(ExecutionException ex)
         {
-            do
+            if(ex.getCause() instanceof InsufficientChargeException)
             {
-                Thread.sleep(this.cell.timeToSufficientCharge(requiredEnergy));
+                throw (InsufficientChargeException) ex.getCause();
             }
-            while(this.cell.getChargeLevel() < requiredEnergy);
+            
+            throw new IllegalStateException("The station failed to grant the energy", ex.getCause());
         }
         
-        // There is enough energy to move forward
-        this.cell.use(requiredEnergy);
+        this.recordGrantWait(this.timeSource.currentTimeMillis() - start);
+        this.consumedEnergy += requiredEnergy;
         this.position = nextPosition;
     }
 
+    private void moveWhenGranted(long nextPosition, double requiredEnergy, CompletableFuture<Void> move)
+    {
+        long start = this.timeSource.currentTimeMillis();
+        
+        this.station.reserve(requiredEnergy).whenComplete((granted, ex) ->
+        {
+            if(null != ex)
+            {
+                move.completeExceptionally(ex);
+                return;
+            }
+            
+            this.recordGrantWait(this.timeSource.currentTimeMillis() - start);
+            this.consumedEnergy += requiredEnergy;
+            this.position = nextPosition;
+            move.complete(null);
+        });
+    }
+
+    private void recordGrantWait(long waitTime)
+    {
+        this.chargeWaitTime += waitTime;
+        
+        if(null != this.metrics && waitTime > 0)
+        {
+            this.metrics.recordChargeWait(waitTime);
+        }
+    }
+
+    private void moveWhenCharged(long nextPosition, double requiredEnergy, Scheduler scheduler, CompletableFuture<Void> move)
+    {
+        try
+        {
+            // If there isn't enough energy, or a robot sharing the battery drew
+            // it first, come back once the battery has charged itself
+            if(!this.draw(requiredEnergy))
+            {
+                long waitTime = this.cell.timeToSufficientCharge(requiredEnergy);
+                
+                if(waitTime == Long.MAX_VALUE)
+                {
+                    // The battery can never hold that much
+                    move.completeExceptionally(new InsufficientChargeException());
+                    return;
+                }
+                
+                // At least a millisecond, so a failed draw never spins
+                waitTime = Math.max(1, waitTime);
+                this.chargeWaitTime += waitTime;
+                
+                if(null != this.metrics)
+                {
+                    this.metrics.recordChargeWait(waitTime);
+                }
+                
+                scheduler.schedule(
+                    () -> this.moveWhenCharged(nextPosition, requiredEnergy, scheduler, move),
+                    waitTime
+                );
+                return;
+            }
+            
+            this.consumedEnergy += requiredEnergy;
+            this.position = nextPosition;
+            move.complete(null);
+        }
+        catch(RuntimeException ex)
+        {
+            move.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Draws some energy from the battery if it holds enough.
+     * 
+     * @param energy The energy to draw.
+     * @return false if the battery doesn't hold enough energy, or if a robot
+     * sharing it drew the energy first.
+     */
+    private boolean draw(double energy)
+    {
+        if(this.cell.getChargeLevel() < energy)
+        {
+            return false;
+        }
+        
+        try
+        {
+            this.cell.use(energy);
+            return true;
+        }
+        catch(InsufficientChargeException ex)
+        {
+            return false;
+        }
+    }
+
     public void turnLeft() throws UnlandedRobotException
     {
         if(!this.isLanded)
@@ -171,52 +495,265 @@ public class Robot
         this.direction = MapTools.clockwise(direction);
     }
 
+    /**
+     * Turns several quarter turns at once.
+     * 
+     * @param quarterTurns The number of quarter turns to the right, negative
+     * to turn left.
+     * @throws UnlandedRobotException If the robot hasn't landed yet.
+     */
+    private void turn(int quarterTurns) throws UnlandedRobotException
+    {
+        if(!this.isLanded)
+        {
+            throw new UnlandedRobotException();
+        }
+        
+        this.direction = MapTools.rotate(this.direction, quarterTurns);
+    }
+
+    /**
+     * @return The number of road book instructions followed so far.
+     */
+    public long getExecutedInstructions()
+    {
+        return this.executedInstructions;
+    }
+
+    /**
+     * @return The energy drawn from the battery so far.
+     */
+    public double getConsumedEnergy()
+    {
+        return this.consumedEnergy;
+    }
+
+    /**
+     * @return The time (milliseconds) spent so far waiting for the battery.
+     */
+    public long getChargeWaitTime()
+    {
+        return this.chargeWaitTime;
+    }
+
+    /**
+     * Robots given the same {@link RoadBookCache} share the road books of
+     * the trips they repeat.
+     * 
+     * @param planner The planner computing the road books of {@link #moveTo(robot.Coordinates)}.
+     */
+    public void setPlanner(RoadBookPlanner planner)
+    {
+        this.planner = planner;
+    }
+
+    /**
+     * Makes the robot reserve the energy of its moves at a charging station
+     * instead of polling its battery : the robot parks until its grant.
+     * Waiting moves then need a time source the station's scheduler runs
+     * on its own, such as the system one ; a virtual clock should rather be
+     * driven through the asynchronous moves.
+     * 
+     * @param station The station granting the energy, null to draw from the
+     * battery directly.
+     */
+    public void setChargingStation(ChargingStation station)
+    {
+        this.station = station;
+    }
+
+    /**
+     * @param metrics The metrics recording the activity of the robot, which
+     * may be shared with other robots ; null to record nothing.
+     */
+    public void setMetrics(RobotMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
     public void setRoadBook(RoadBook roadBook)
     {
         this.roadBook = roadBook;
     }
 
     /**
+     * Follows the road book. Runs of identical moves are executed as one
+     * move of several cells : one energy check and one battery use per run,
+     * the land sensor still being used for every step.
+     * 
      * @throws UnlandedRobotException If the robot hasn't landed yet.
      * @throws InsufficientChargeException If the robot tries doing something it doesn't
      * have enough energy for.
-     * @throws InterruptedException If the thread cannot be put to sleep.
+     * @throws InterruptedException If the thread cannot be put to sleep, or
+     * is interrupted while waiting for the next instruction of the road book.
      */
     public void letsGo() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        try
+        {
+            this.followRoadBook();
+        }
+        catch(RoadBookInterruptedException ex)
+        {
+            throw (InterruptedException) ex.getCause();
+        }
+    }
+
+    private void followRoadBook() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
     {
         while(this.roadBook.hasInstruction())
         {
             Instruction nextInstruction = this.roadBook.next();
+            this.executedInstructions++;
+            long executed = this.executedInstructions;
             
             if(null != nextInstruction)
             {
                 switch(nextInstruction)
                 {
                     case FORWARD:
-                        moveForward();
+                        // A whole run of steps is moved at once
+                        int forwardSteps = 1 + this.roadBook.skipRepeats(FORWARD);
+                        this.executedInstructions += forwardSteps - 1;
+                        moveForward(forwardSteps);
                         break;
                     case BACKWARD:
-                        moveBackward();
+                        int backwardSteps = 1 + this.roadBook.skipRepeats(BACKWARD);
+                        this.executedInstructions += backwardSteps - 1;
+                        moveBackward(backwardSteps);
                         break;
                     case TURNLEFT:
-                        // turnRight();
-                        turnLeft();
+                        // A whole run of turns is done in one rotation
+                        int leftTurns = 1 + this.roadBook.skipRepeats(TURNLEFT);
+                        this.executedInstructions += leftTurns - 1;
+                        turn(-leftTurns);
                         break;
                     case TURNRIGHT:
-                        turnRight();
+                        int rightTurns = 1 + this.roadBook.skipRepeats(TURNRIGHT);
+                        this.executedInstructions += rightTurns - 1;
+                        turn(rightTurns);
                         break;
                     default:
                         break;
                 }
+                
+                if(null != this.metrics)
+                {
+                    this.metrics.countInstructions(nextInstruction, (int) (this.executedInstructions - executed + 1));
+                }
             }
         }
     }
 
+    /**
+     * Follows the road book like {@link #letsGo()}, but waits for the battery
+     * through the scheduler instead of sleeping : no thread is held while
+     * the robot waits for energy.
+     * 
+     * @param scheduler The scheduler used to wait for the battery.
+     * @return A future completed once the whole road book has been followed,
+     * or completed exceptionally with the first error met, an
+     * {@link InterruptedException} if the road book was cut short.
+     */
+    public CompletableFuture<Void> letsGoAsync(Scheduler scheduler)
+    {
+        CompletableFuture<Void> trip = new CompletableFuture<>();
+        
+        this.continueAsync(scheduler, trip);
+        
+        return trip;
+    }
+
+    private void continueAsync(Scheduler scheduler, CompletableFuture<Void> trip)
+    {
+        try
+        {
+            while(this.roadBook.hasInstruction())
+            {
+                Instruction nextInstruction = this.roadBook.next();
+                CompletableFuture<Void> move = null;
+                this.executedInstructions++;
+                long executed = this.executedInstructions;
+                
+                if(null != nextInstruction)
+                {
+                    switch(nextInstruction)
+                    {
+                        case FORWARD:
+                            int forwardSteps = 1 + this.roadBook.skipRepeats(FORWARD);
+                            this.executedInstructions += forwardSteps - 1;
+                            move = this.moveAsync(forwardSteps, false, scheduler);
+                            break;
+                        case BACKWARD:
+                            int backwardSteps = 1 + this.roadBook.skipRepeats(BACKWARD);
+                            this.executedInstructions += backwardSteps - 1;
+                            move = this.moveAsync(backwardSteps, true, scheduler);
+                            break;
+                        case TURNLEFT:
+                            int leftTurns = 1 + this.roadBook.skipRepeats(TURNLEFT);
+                            this.executedInstructions += leftTurns - 1;
+                            turn(-leftTurns);
+                            break;
+                        case TURNRIGHT:
+                            int rightTurns = 1 + this.roadBook.skipRepeats(TURNRIGHT);
+                            this.executedInstructions += rightTurns - 1;
+                            turn(rightTurns);
+                            break;
+                        default:
+                            break;
+                    }
+                    
+                    if(null != this.metrics)
+                    {
+                        this.metrics.countInstructions(nextInstruction, (int) (this.executedInstructions - executed + 1));
+                    }
+                }
+                
+                // Moves done right away are chained without growing the stack
+                if(null != move && (!move.isDone() || move.isCompletedExceptionally()))
+                {
+                    move.whenComplete((done, ex) ->
+                    {
+                        if(null != ex)
+                        {
+                            trip.completeExceptionally(ex);
+                        }
+                        else
+                        {
+                            this.continueAsync(scheduler, trip);
+                        }
+                    });
+                    return;
+                }
+            }
+            
+            trip.complete(null);
+        }
+        catch(RoadBookInterruptedException ex)
+        {
+            trip.completeExceptionally(ex.getCause());
+        }
+        catch(UnlandedRobotException | RuntimeException ex)
+        {
+            trip.completeExceptionally(ex);
+        }
+    }
+
+    private static CompletableFuture<Void> failedFuture(Throwable ex)
+    {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(ex);
+        
+        return future;
+    }
+
     /**
      * @throws UnlandedRobotException If the robot hasn't landed yet.
      * @throws InsufficientChargeException If the robot tries doing something it doesn't
      * have enough energy for.
      * @throws InterruptedException If the thread cannot be put to sleep.
+     * @throws UnreachableDestinationException If the planner finds no path
+     * to the destination.
      */
     public void moveTo(Coordinates destination) throws UnlandedRobotException, InsufficientChargeException, InterruptedException
     {
@@ -225,7 +762,36 @@ public class Robot
             throw new UnlandedRobotException();
         }
         
-        RoadBook book = RoadBookCalculator.calculateRoadBook(this.direction, this.position, destination, new ArrayList<>());
+        RoadBook book = this.planner.plan(this.direction, Coordinates.of(this.position), destination);
+        this.setRoadBook(book);
+        this.letsGo();
+    }
+
+    /**
+     * Goes to the destination through the cheapest road book, turning left
+     * or right and moving forward or backward as needed.
+     * 
+     * The road book is computed by {@link RoadBookCalculator} on the empty
+     * grid whatever the planner set : the costs weigh the instructions of its
+     * straight legs, which the grid planners don't know of. Setting a
+     * {@link ManhattanPlanner} built with the costs makes
+     * {@link #moveTo(robot.Coordinates)} plan the same way.
+     * 
+     * @param destination The position to reach.
+     * @param costs The cost of each instruction.
+     * @throws UnlandedRobotException If the robot hasn't landed yet.
+     * @throws InsufficientChargeException If the robot tries doing something it doesn't
+     * have enough energy for.
+     * @throws InterruptedException If the thread cannot be put to sleep.
+     */
+    public void moveTo(Coordinates destination, InstructionCosts costs) throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        if(!this.isLanded)
+        {
+            throw new UnlandedRobotException();
+        }
+        
+        RoadBook book = RoadBookCalculator.calculateRoadBook(this.direction, Coordinates.of(this.position), destination, costs);
         this.setRoadBook(book);
         this.letsGo();
     }
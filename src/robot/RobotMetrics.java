@@ -0,0 +1,207 @@
+package robot;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Activity of one or several robots, recorded without locks so that a whole
+ * fleet may share one instance. A robot records nothing unless it is given
+ * metrics through {@link Robot#setMetrics(robot.RobotMetrics)}.
+ */
+public class RobotMetrics
+{
+    private final LongAdder[] instructions = new LongAdder[Instruction.values().length];
+    private final LatencyHistogram forwardLatency = new LatencyHistogram();
+    private final LatencyHistogram backwardLatency = new LatencyHistogram();
+    private final DoubleAdder energy = new DoubleAdder();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder chargeWaits = new LongAdder();
+    private final LongAdder chargeWaitTime = new LongAdder();
+    private final LongAdder sensorCalls = new LongAdder();
+
+    public RobotMetrics()
+    {
+        for(int i = 0; i < this.instructions.length; i++)
+        {
+            this.instructions[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param instruction The instruction followed.
+     * @param count The number of times it was followed in a row.
+     */
+    void countInstructions(Instruction instruction, int count)
+    {
+        this.instructions[instruction.ordinal()].add(count);
+    }
+
+    /**
+     * Records a run of moves, once the energy has been drawn.
+     * 
+     * @param backward Whether the robot moved backward.
+     * @param steps The number of cells moved.
+     * @param energy The energy drawn from the battery.
+     * @param nanos The time taken by the run, waits included.
+     */
+    void recordMove(boolean backward, int steps, double energy, long nanos)
+    {
+        (backward ? this.backwardLatency : this.forwardLatency).record(nanos);
+        this.steps.add(steps);
+        this.energy.add(energy);
+    }
+
+    /**
+     * @param calls The number of coefficients asked to the land sensor, for
+     * moves done or not.
+     */
+    void countSensorCalls(int calls)
+    {
+        this.sensorCalls.add(calls);
+    }
+
+    /**
+     * @param millis The time (milliseconds) waited for the battery.
+     */
+    void recordChargeWait(long millis)
+    {
+        this.chargeWaits.increment();
+        this.chargeWaitTime.add(millis);
+    }
+
+    /**
+     * @return A copy of the recorded activity. Activity recorded meanwhile
+     * may or may not be part of it.
+     */
+    public Snapshot snapshot()
+    {
+        long[] instructionCounts = new long[this.instructions.length];
+        
+        for(int i = 0; i < instructionCounts.length; i++)
+        {
+            instructionCounts[i] = this.instructions[i].sum();
+        }
+        
+        return new Snapshot(
+            instructionCounts, this.forwardLatency.snapshot(), this.backwardLatency.snapshot(), this.energy.sum(),
+            this.steps.sum(), this.chargeWaits.sum(), this.chargeWaitTime.sum(), this.sensorCalls.sum()
+        );
+    }
+
+    /**
+     * Recorded activity at one point in time.
+     */
+    public static class Snapshot
+    {
+        private final long[] instructions;
+        private final LatencyHistogram.Snapshot forwardLatency;
+        private final LatencyHistogram.Snapshot backwardLatency;
+        private final double energy;
+        private final long steps;
+        private final long chargeWaits;
+        private final long chargeWaitTime;
+        private final long sensorCalls;
+
+        private Snapshot(long[] instructions, LatencyHistogram.Snapshot forwardLatency, LatencyHistogram.Snapshot backwardLatency, double energy, long steps, long chargeWaits, long chargeWaitTime, long sensorCalls)
+        {
+            this.instructions = instructions;
+            this.forwardLatency = forwardLatency;
+            this.backwardLatency = backwardLatency;
+            this.energy = energy;
+            this.steps = steps;
+            this.chargeWaits = chargeWaits;
+            this.chargeWaitTime = chargeWaitTime;
+            this.sensorCalls = sensorCalls;
+        }
+
+        /**
+         * @return The number of road book instructions of the given type
+         * followed.
+         */
+        public long getInstructionCount(Instruction instruction)
+        {
+            return this.instructions[instruction.ordinal()];
+        }
+
+        /**
+         * @return The latencies of the runs of forward moves.
+         */
+        public LatencyHistogram.Snapshot getForwardLatency()
+        {
+            return this.forwardLatency;
+        }
+
+        /**
+         * @return The latencies of the runs of backward moves.
+         */
+        public LatencyHistogram.Snapshot getBackwardLatency()
+        {
+            return this.backwardLatency;
+        }
+
+        /**
+         * @return The energy drawn from the batteries.
+         */
+        public double getEnergy()
+        {
+            return this.energy;
+        }
+
+        /**
+         * @return The number of cells moved.
+         */
+        public long getSteps()
+        {
+            return this.steps;
+        }
+
+        /**
+         * @return The mean energy drawn per cell moved, 0 if none was.
+         */
+        public double getEnergyPerStep()
+        {
+            return this.steps == 0 ? 0 : this.energy / this.steps;
+        }
+
+        public long getChargeWaits()
+        {
+            return this.chargeWaits;
+        }
+
+        /**
+         * @return The time (milliseconds) spent waiting for the batteries.
+         */
+        public long getChargeWaitTime()
+        {
+            return this.chargeWaitTime;
+        }
+
+        /**
+         * @return The number of coefficients asked to the land sensors,
+         * including the moves that failed.
+         */
+        public long getSensorCalls()
+        {
+            return this.sensorCalls;
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder();
+            
+            for(Instruction instruction : Instruction.values())
+            {
+                builder.append(instruction).append(' ').append(this.getInstructionCount(instruction)).append('\n');
+            }
+            
+            return builder
+                .append("forward moves ").append(this.forwardLatency).append('\n')
+                .append("backward moves ").append(this.backwardLatency).append('\n')
+                .append(String.format("energy %.2f over %d steps (%.3f per step)%n", this.energy, this.steps, this.getEnergyPerStep()))
+                .append(String.format("charge waits %d (%d ms)%n", this.chargeWaits, this.chargeWaitTime))
+                .append("sensor calls ").append(this.sensorCalls)
+                .toString();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package robot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Road book storing runs of identical instructions as (instruction, count)
+ * pairs. Road books made of long straight legs take a few bytes per leg,
+ * and a whole run is handed to {@link Robot#letsGo()} through
+ * {@link #skipRepeats(robot.Instruction)}.
+ */
+public class RunLengthRoadBook extends RoadBook
+{
+    private static final Instruction[] INSTRUCTIONS = Instruction.values();
+
+    private byte[] instructions;
+    private int[] counts;
+    private int runs;
+    private long size;
+
+    /**
+     * Index of the current run, and number of its instructions not read yet.
+     */
+    private int run;
+    private int remaining;
+
+    /**
+     * Whether the runs are shared with other road books, see {@link #view()}.
+     */
+    private boolean shared;
+
+    public RunLengthRoadBook()
+    {
+        this(8);
+    }
+
+    /**
+     * @param capacity The number of runs to make room for.
+     */
+    public RunLengthRoadBook(int capacity)
+    {
+        this.instructions = new byte[Math.max(1, capacity)];
+        this.counts = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * @param instructions The instructions to encode.
+     */
+    public RunLengthRoadBook(List<Instruction> instructions)
+    {
+        this();
+        
+        for(Instruction instruction : instructions)
+        {
+            this.append(instruction, 1);
+        }
+    }
+
+    /**
+     * Appends the same instruction several times, extending the last run if
+     * it holds the same instruction.
+     * 
+     * @param instruction The instruction to append.
+     * @param count The number of times to append it.
+     */
+    public void append(Instruction instruction, int count)
+    {
+        if(this.shared)
+        {
+            throw new UnsupportedOperationException("The runs of this road book are shared");
+        }
+        
+        if(count <= 0)
+        {
+            return;
+        }
+        
+        int last = this.runs - 1;
+        
+        if(last >= 0 && this.instructions[last] == instruction.ordinal() && this.counts[last] <= Integer.MAX_VALUE - count)
+        {
+            this.counts[last] += count;
+            
+            // The cursor may already be in the run being extended
+            if(this.run == this.runs)
+            {
+                this.remaining += count;
+            }
+        }
+        else
+        {
+            if(this.runs == this.counts.length)
+            {
+                this.instructions = Arrays.copyOf(this.instructions, this.runs * 2);
+                this.counts = Arrays.copyOf(this.counts, this.runs * 2);
+            }
+            
+            this.instructions[this.runs] = (byte) instruction.ordinal();
+            this.counts[this.runs] = count;
+            this.runs++;
+        }
+        
+        this.size += count;
+    }
+
+    /**
+     * Creates a road book reading the same runs with its own cursor, without
+     * copying them : both road books may then be followed at the same time,
+     * from different threads, but none of them may be appended to anymore.
+     * 
+     * @return The new road book, at its beginning.
+     */
+    RunLengthRoadBook view()
+    {
+        this.shared = true;
+        RunLengthRoadBook view = new RunLengthRoadBook(0);
+        view.instructions = this.instructions;
+        view.counts = this.counts;
+        view.runs = this.runs;
+        view.size = this.size;
+        view.shared = true;
+        
+        return view;
+    }
+
+    /**
+     * Copies the runs, or shares them if they are already shared.
+     */
+    @Override
+    public RunLengthRoadBook snapshot()
+    {
+        if(this.shared)
+        {
+            return this.view();
+        }
+        
+        RunLengthRoadBook snapshot = new RunLengthRoadBook(0);
+        snapshot.instructions = Arrays.copyOf(this.instructions, Math.max(1, this.runs));
+        snapshot.counts = Arrays.copyOf(this.counts, Math.max(1, this.runs));
+        snapshot.runs = this.runs;
+        snapshot.size = this.size;
+        
+        return snapshot;
+    }
+
+    /**
+     * @return The number of runs.
+     */
+    public int runs()
+    {
+        return this.runs;
+    }
+
+    /**
+     * @param run The index of the run, starting from 0.
+     * @return The instruction repeated by the run.
+     */
+    public Instruction getInstruction(int run)
+    {
+        this.checkRun(run);
+        
+        return INSTRUCTIONS[this.instructions[run]];
+    }
+
+    /**
+     * @param run The index of the run, starting from 0.
+     * @return The number of times the instruction of the run is repeated.
+     */
+    public int getCount(int run)
+    {
+        this.checkRun(run);
+        
+        return this.counts[run];
+    }
+
+    /**
+     * @return The total number of instructions.
+     */
+    public long size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean hasInstruction()
+    {
+        return this.remaining > 0 || this.run < this.runs;
+    }
+
+    @Override
+    public Instruction next()
+    {
+        if(this.remaining == 0)
+        {
+            this.checkRun(this.run);
+            this.remaining = this.counts[this.run++];
+        }
+        
+        this.remaining--;
+        
+        return INSTRUCTIONS[this.instructions[this.run - 1]];
+    }
+
+    /**
+     * Consumes the rest of the current run if it repeats the given
+     * instruction, in constant time.
+     */
+    @Override
+    public int skipRepeats(Instruction instruction)
+    {
+        if(this.run == 0 || this.instructions[this.run - 1] != instruction.ordinal())
+        {
+            return 0;
+        }
+        
+        int repeats = this.remaining;
+        this.remaining = 0;
+        
+        return repeats;
+    }
+
+    @Override
+    public void rewind()
+    {
+        this.run = 0;
+        this.remaining = 0;
+    }
+
+    private void checkRun(int run)
+    {
+        if(run < 0 || run >= this.runs)
+        {
+            throw new IndexOutOfBoundsException("Run: " + run + ", Runs: " + this.runs);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package robot;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a task once a delay has elapsed, without holding the calling thread
+ * in the meantime.
+ */
+public interface Scheduler
+{
+    /**
+     * @param task The task to run.
+     * @param delayMillis The delay (milliseconds) before running the task.
+     */
+    void schedule(Runnable task, long delayMillis);
+
+    /**
+     * @param executor The executor running the tasks.
+     * @return A scheduler delegating to the given executor.
+     */
+    static Scheduler of(ScheduledExecutorService executor)
+    {
+        return (task, delayMillis) -> executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,327 @@
+package robot;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Road book fed while it is followed : a producer (a planner emitting legs,
+ * a file or network reader...) puts runs of instructions into a bounded
+ * buffer, and the robot takes them as it goes. Planning and execution
+ * overlap, and the memory used doesn't depend on the length of the trip.
+ * 
+ * One producer thread and one consumer thread may use the road book at once.
+ * The consumer waits in {@link #hasInstruction()} until an instruction is
+ * available or the producer calls {@link #close()}, as a managed blocker :
+ * a consumer running on a fork-join pool, such as the workers of
+ * {@link FleetExecutor}, lets the pool start a spare worker meanwhile. A
+ * stream can't be rewound.
+ */
+public class StreamingRoadBook extends RoadBook
+{
+    private static final Instruction[] INSTRUCTIONS = Instruction.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Condition notFull = this.lock.newCondition();
+
+    /**
+     * Ring buffer of the runs put but not taken yet.
+     */
+    private final byte[] instructions;
+    private final int[] counts;
+    private int head;
+    private int runs;
+    private boolean closed;
+
+    /**
+     * Run being followed, only read by the consumer.
+     */
+    private Instruction current;
+    private int remaining;
+
+    /**
+     * Waits for a run to be put or for the stream to be closed.
+     */
+    private final ForkJoinPool.ManagedBlocker arrival = new ForkJoinPool.ManagedBlocker()
+    {
+        @Override
+        public boolean block() throws InterruptedException
+        {
+            StreamingRoadBook.this.lock.lockInterruptibly();
+            
+            try
+            {
+                while(StreamingRoadBook.this.runs == 0 && !StreamingRoadBook.this.closed)
+                {
+                    StreamingRoadBook.this.notEmpty.await();
+                }
+                
+                return true;
+            }
+            finally
+            {
+                StreamingRoadBook.this.lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isReleasable()
+        {
+            StreamingRoadBook.this.lock.lock();
+            
+            try
+            {
+                return StreamingRoadBook.this.runs > 0 || StreamingRoadBook.this.closed;
+            }
+            finally
+            {
+                StreamingRoadBook.this.lock.unlock();
+            }
+        }
+    };
+
+    public StreamingRoadBook()
+    {
+        this(64);
+    }
+
+    /**
+     * @param capacity The number of runs the buffer holds before the
+     * producer waits.
+     */
+    public StreamingRoadBook(int capacity)
+    {
+        this.instructions = new byte[Math.max(1, capacity)];
+        this.counts = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * @param instruction The instruction to put.
+     * @throws InterruptedException If the producer is interrupted while
+     * waiting for room.
+     */
+    public void put(Instruction instruction) throws InterruptedException
+    {
+        this.put(instruction, 1);
+    }
+
+    /**
+     * Puts the same instruction several times, extending the last buffered
+     * run if it holds the same instruction, and waits for room in the buffer
+     * otherwise.
+     * 
+     * @param instruction The instruction to put.
+     * @param count The number of times to put it.
+     * @throws InterruptedException If the producer is interrupted while
+     * waiting for room.
+     * @throws IllegalStateException If the road book has been closed.
+     */
+    public void put(Instruction instruction, int count) throws InterruptedException
+    {
+        if(count <= 0)
+        {
+            return;
+        }
+        
+        this.lock.lockInterruptibly();
+        
+        try
+        {
+            if(this.closed)
+            {
+                throw new IllegalStateException("The road book has been closed");
+            }
+            
+            int last = (this.head + this.runs - 1) % this.counts.length;
+            
+            if(this.runs > 0 && this.instructions[last] == instruction.ordinal() && this.counts[last] <= Integer.MAX_VALUE - count)
+            {
+                this.counts[last] += count;
+                return;
+            }
+            
+            while(this.runs == this.counts.length)
+            {
+                this.notFull.await();
+            }
+            
+            int tail = (this.head + this.runs) % this.counts.length;
+            this.instructions[tail] = (byte) instruction.ordinal();
+            this.counts[tail] = count;
+            this.runs++;
+            this.notEmpty.signal();
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Puts every instruction left in a road book, such as a leg of the trip.
+     * 
+     * @param leg The road book to copy, read until its end.
+     * @throws InterruptedException If the producer is interrupted while
+     * waiting for room.
+     */
+    public void put(RoadBook leg) throws InterruptedException
+    {
+        while(leg.hasInstruction())
+        {
+            Instruction instruction = leg.next();
+            this.put(instruction, 1 + leg.skipRepeats(instruction));
+        }
+    }
+
+    /**
+     * Ends the stream : once the buffered instructions are followed, the
+     * road book has no instruction left.
+     */
+    public void close()
+    {
+        this.lock.lock();
+        
+        try
+        {
+            this.closed = true;
+            this.notEmpty.signalAll();
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until an instruction is available or the stream is closed.
+     * 
+     * @throws RoadBookInterruptedException If the consumer is interrupted
+     * meanwhile : the stream is cut short rather than over.
+     */
+    @Override
+    public boolean hasInstruction()
+    {
+        if(this.remaining > 0)
+        {
+            return true;
+        }
+        
+        try
+        {
+            ForkJoinPool.managedBlock(this.arrival);
+        }
+        catch(InterruptedException ex)
+        {
+            throw new RoadBookInterruptedException(ex);
+        }
+        
+        // Only the consumer takes runs : the ones put meanwhile are still there
+        this.lock.lock();
+        
+        try
+        {
+            if(this.runs == 0)
+            {
+                return false;
+            }
+            
+            this.take();
+            
+            return true;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public Instruction next()
+    {
+        if(!this.hasInstruction())
+        {
+            throw new NoSuchElementException();
+        }
+        
+        this.remaining--;
+        
+        return this.current;
+    }
+
+    /**
+     * Consumes the rest of the current run if it repeats the given
+     * instruction, then the following buffered runs holding it too, without
+     * waiting for the producer.
+     */
+    @Override
+    public int skipRepeats(Instruction instruction)
+    {
+        if(this.current != instruction)
+        {
+            return 0;
+        }
+        
+        int repeats = this.remaining;
+        this.remaining = 0;
+        this.lock.lock();
+        
+        try
+        {
+            while(this.runs > 0 && this.instructions[this.head] == instruction.ordinal() && this.counts[this.head] <= Integer.MAX_VALUE - repeats)
+            {
+                this.take();
+                repeats += this.remaining;
+                this.remaining = 0;
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+        
+        return repeats;
+    }
+
+    /**
+     * @return False : the instructions followed are not kept.
+     */
+    @Override
+    public boolean isRewindable()
+    {
+        return false;
+    }
+
+    /**
+     * @throws UnsupportedOperationException Always, see
+     * {@link #isRewindable()}.
+     */
+    @Override
+    public RoadBook snapshot()
+    {
+        throw new UnsupportedOperationException("A streaming road book can't be read again");
+    }
+
+    /**
+     * @throws UnsupportedOperationException Always, see
+     * {@link #isRewindable()}.
+     */
+    @Override
+    public void rewind()
+    {
+        throw new UnsupportedOperationException("A streaming road book can't be rewound");
+    }
+
+    /**
+     * Takes the first buffered run as the current one, lock held.
+     */
+    private void take()
+    {
+        this.current = INSTRUCTIONS[this.instructions[this.head]];
+        this.remaining = this.counts[this.head];
+        this.head = (this.head + 1) % this.counts.length;
+        this.runs--;
+        this.notFull.signal();
+    }
+}
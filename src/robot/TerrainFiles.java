@@ -0,0 +1,185 @@
+package robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary terrain files read by {@link MappedLandSensor}, and the tool
+ * generating or converting them.
+ * 
+ * Layout, little endian :
+ * <pre>
+ * header (64 bytes) : magic "RTER", version, originX, originY, width, height,
+ *                     tile size, then zeros
+ * tiles             : row by row of tiles from (originX ; originY), each tile
+ *                     holding tileSize x tileSize float coefficients row by
+ *                     row, cells out of the map set to NaN
+ * </pre>
+ */
+public class TerrainFiles
+{
+    static final int MAGIC = 0x52544552;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int DEFAULT_TILE_SIZE = 64;
+
+    /**
+     * Coefficient of each cell of a terrain.
+     */
+    public interface Coefficients
+    {
+        float get(int x, int y);
+    }
+
+    private TerrainFiles()
+    {
+    }
+
+    /**
+     * Writes a terrain file.
+     * 
+     * @param file The file to write.
+     * @param originX The abscissa of the bottom left cell.
+     * @param originY The ordinate of the bottom left cell.
+     * @param width The number of columns.
+     * @param height The number of rows.
+     * @param coefficients The coefficient of each cell.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, int originX, int originY, int width, int height, Coefficients coefficients) throws IOException
+    {
+        int tileSize = DEFAULT_TILE_SIZE;
+        int tilesX = (width + tileSize - 1) / tileSize;
+        int tilesY = (height + tileSize - 1) / tileSize;
+        long tileBytes = (long) tileSize * tileSize * Float.BYTES;
+        
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(originX).putInt(originY).putInt(width).putInt(height).putInt(tileSize);
+            header.rewind();
+            channel.write(header, 0);
+            
+            // One row of tiles mapped at a time
+            for(int tileY = 0; tileY < tilesY; tileY++)
+            {
+                MappedByteBuffer row = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + tileY * tilesX * tileBytes, tilesX * tileBytes);
+                row.order(ByteOrder.LITTLE_ENDIAN);
+                
+                for(int tileX = 0; tileX < tilesX; tileX++)
+                {
+                    for(int y = 0; y < tileSize; y++)
+                    {
+                        for(int x = 0; x < tileSize; x++)
+                        {
+                            int column = tileX * tileSize + x;
+                            int line = tileY * tileSize + y;
+                            row.putFloat(column < width && line < height ? coefficients.get(originX + column, originY + line) : Float.NaN);
+                        }
+                    }
+                }
+                
+                row.force();
+            }
+        }
+    }
+
+    /**
+     * Converts a raw grid of little endian floats, row by row from the bottom
+     * left cell, to a terrain file.
+     * 
+     * @param raw The raw grid.
+     * @param file The terrain file to write.
+     * @param originX The abscissa of the bottom left cell.
+     * @param originY The ordinate of the bottom left cell.
+     * @param width The number of columns.
+     * @param height The number of rows.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void convert(Path raw, Path file, int originX, int originY, int width, int height) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(raw, StandardOpenOption.READ))
+        {
+            if(channel.size() < (long) width * height * Float.BYTES)
+            {
+                throw new IOException("The raw grid holds less than " + width + "x" + height + " coefficients");
+            }
+            
+            // The tiles are written by rows of tiles : the raw rows they cover
+            // are mapped one band at a time, as the whole grid may exceed 2 GB
+            int rowBytes = width * Float.BYTES;
+            MappedByteBuffer[] band = new MappedByteBuffer[1];
+            int[] bandIndex = {-1};
+            
+            write(file, originX, originY, width, height, (x, y) ->
+            {
+                int line = y - originY;
+                
+                if(line / DEFAULT_TILE_SIZE != bandIndex[0])
+                {
+                    int first = line / DEFAULT_TILE_SIZE * DEFAULT_TILE_SIZE;
+                    int rows = Math.min(DEFAULT_TILE_SIZE, height - first);
+                    
+                    try
+                    {
+                        band[0] = channel.map(FileChannel.MapMode.READ_ONLY, (long) first * rowBytes, (long) rows * rowBytes);
+                        band[0].order(ByteOrder.LITTLE_ENDIAN);
+                        bandIndex[0] = line / DEFAULT_TILE_SIZE;
+                    }
+                    catch(IOException ex)
+                    {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+                
+                return band[0].getFloat((line % DEFAULT_TILE_SIZE) * rowBytes + (x - originX) * Float.BYTES);
+            });
+        }
+        catch(IllegalStateException ex)
+        {
+            if(ex.getCause() instanceof IOException)
+            {
+                throw (IOException) ex.getCause();
+            }
+            
+            throw ex;
+        }
+    }
+
+    /**
+     * Usage :
+     * <pre>
+     * generate &lt;file&gt; &lt;originX&gt; &lt;originY&gt; &lt;width&gt; &lt;height&gt; &lt;seed&gt; [maximumCoefficient]
+     * convert &lt;raw&gt; &lt;file&gt; &lt;originX&gt; &lt;originY&gt; &lt;width&gt; &lt;height&gt;
+     * </pre>
+     * 
+     * @param args The command line arguments.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length >= 7 && "generate".equals(args[0]))
+        {
+            TerrainLandSensor terrain = args.length > 7
+                ? new TerrainLandSensor(Long.parseLong(args[6]), Double.parseDouble(args[7]))
+                : new TerrainLandSensor(Long.parseLong(args[6]));
+            write(Paths.get(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), Integer.parseInt(args[4]), Integer.parseInt(args[5]), terrain::computeCellCoefficient);
+        }
+        else if(args.length == 7 && "convert".equals(args[0]))
+        {
+            convert(Paths.get(args[1]), Paths.get(args[2]), Integer.parseInt(args[3]), Integer.parseInt(args[4]), Integer.parseInt(args[5]), Integer.parseInt(args[6]));
+        }
+        else
+        {
+            System.err.println("Usage: TerrainFiles generate <file> <originX> <originY> <width> <height> <seed> [maximumCoefficient]");
+            System.err.println("       TerrainFiles convert <raw> <file> <originX> <originY> <width> <height>");
+            System.exit(1);
+        }
+    }
+}
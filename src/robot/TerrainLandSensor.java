@@ -0,0 +1,236 @@
+package robot;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Land sensor reading the energy coefficients on a fixed terrain : every cell
+ * has its own coefficient, derived from a hash of its coordinates and a seed,
+ * so the same move always costs the same energy, from one run to the next.
+ * 
+ * Coefficients follow the law of the random sensor, 1 + 1/r with r uniform,
+ * but r is kept above 1 / (maximumCoefficient - 1) so that no move becomes
+ * infinitely expensive. The coefficient of a move is the mean of the
+ * coefficients of its two ends.
+ * 
+ * Coefficients are computed by tiles of 64x64 cells, on the first lookup
+ * falling in a tile, then read from float arrays without any allocation.
+ * The sensor may be shared between threads.
+ */
+public class TerrainLandSensor extends LandSensor
+{
+    private static final int TILE_BITS = 6;
+    private static final int TILE_SIZE = 1 << TILE_BITS;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private final long seed;
+    private final double maximumCoefficient;
+    private final double minimumDraw;
+
+    /**
+     * Open addressing table of the computed tiles, replaced when growing.
+     */
+    private volatile AtomicReferenceArray<Tile> tiles;
+    private int tileCount;
+
+    /**
+     * @param seed The seed of the terrain.
+     */
+    public TerrainLandSensor(long seed)
+    {
+        this(seed, 20);
+    }
+
+    /**
+     * @param seed The seed of the terrain.
+     * @param maximumCoefficient The highest coefficient of a cell, at least 2.
+     */
+    public TerrainLandSensor(long seed, double maximumCoefficient)
+    {
+        if(!(maximumCoefficient >= 2))
+        {
+            throw new IllegalArgumentException("The maximum coefficient must be at least 2");
+        }
+        
+        this.seed = seed;
+        this.maximumCoefficient = maximumCoefficient;
+        this.minimumDraw = 1 / (maximumCoefficient - 1);
+        this.tiles = new AtomicReferenceArray<>(64);
+    }
+
+    public long getSeed()
+    {
+        return this.seed;
+    }
+
+    public double getMaximumCoefficient()
+    {
+        return this.maximumCoefficient;
+    }
+
+    /**
+     * Every cell coefficient is 1 + 1/r with r at most 1, so is every mean.
+     */
+    @Override
+    public double getMinimumCoefficient()
+    {
+        return 2;
+    }
+
+    /**
+     * Same contract as the random sensor : the coefficient between a point and
+     * itself is not a number.
+     */
+    @Override
+    public double getPointToPointEnergyCoefficient(Coordinates coordinate1, Coordinates coordinate2)
+    {
+        return this.getPointToPointEnergyCoefficient(coordinate1.pack(), coordinate2.pack());
+    }
+
+    @Override
+    protected boolean hasPackedCoefficients()
+    {
+        return true;
+    }
+
+    @Override
+    public double getPointToPointEnergyCoefficient(long position1, long position2)
+    {
+        if(position1 == position2)
+        {
+            return Double.NaN;
+        }
+        
+        return (this.getCellCoefficient(Coordinates.xOf(position1), Coordinates.yOf(position1)) + this.getCellCoefficient(Coordinates.xOf(position2), Coordinates.yOf(position2))) / 2;
+    }
+
+    /**
+     * @return The energy coefficient of the cell (x ; y).
+     */
+    public float getCellCoefficient(int x, int y)
+    {
+        return this.tile(x >> TILE_BITS, y >> TILE_BITS).coefficients[(y & TILE_MASK) << TILE_BITS | (x & TILE_MASK)];
+    }
+
+    /**
+     * Computes the coefficient of a cell from its coordinates.
+     */
+    float computeCellCoefficient(int x, int y)
+    {
+        long hash = this.seed ^ x * 0x9E3779B97F4A7C15L ^ y * 0xC2B2AE3D27D4EB4FL;
+        
+        // SplitMix64 finalizer
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+        
+        // Uniform draw in ]0 ; 1]
+        double draw = ((hash >>> 11) + 1) * 0x1.0p-53;
+        
+        return (float) (1 + 1 / Math.max(draw, this.minimumDraw));
+    }
+
+    private Tile tile(int tileX, int tileY)
+    {
+        long key = (long) tileX << 32 | (tileY & 0xFFFFFFFFL);
+        AtomicReferenceArray<Tile> table = this.tiles;
+        int mask = table.length() - 1;
+        
+        for(int slot = hash(key) & mask; ; slot = (slot + 1) & mask)
+        {
+            Tile tile = table.get(slot);
+            
+            if(null == tile)
+            {
+                return this.loadTile(key, tileX, tileY);
+            }
+            
+            if(tile.key == key)
+            {
+                return tile;
+            }
+        }
+    }
+
+    private synchronized Tile loadTile(long key, int tileX, int tileY)
+    {
+        // Another thread may have loaded it meanwhile
+        AtomicReferenceArray<Tile> table = this.tiles;
+        int mask = table.length() - 1;
+        int slot = hash(key) & mask;
+        
+        for(Tile tile; null != (tile = table.get(slot)); slot = (slot + 1) & mask)
+        {
+            if(tile.key == key)
+            {
+                return tile;
+            }
+        }
+        
+        float[] coefficients = new float[TILE_SIZE * TILE_SIZE];
+        
+        for(int y = 0; y < TILE_SIZE; y++)
+        {
+            for(int x = 0; x < TILE_SIZE; x++)
+            {
+                coefficients[y << TILE_BITS | x] = this.computeCellCoefficient(tileX << TILE_BITS | x, tileY << TILE_BITS | y);
+            }
+        }
+        
+        Tile tile = new Tile(key, coefficients);
+        
+        // Keep the table at most half full
+        if(++this.tileCount * 2 > table.length())
+        {
+            AtomicReferenceArray<Tile> grown = new AtomicReferenceArray<>(table.length() * 2);
+            
+            for(int i = 0; i < table.length(); i++)
+            {
+                if(null != table.get(i))
+                {
+                    insert(grown, table.get(i));
+                }
+            }
+            
+            insert(grown, tile);
+            this.tiles = grown;
+        }
+        else
+        {
+            table.set(slot, tile);
+        }
+        
+        return tile;
+    }
+
+    private static void insert(AtomicReferenceArray<Tile> table, Tile tile)
+    {
+        int mask = table.length() - 1;
+        int slot = hash(tile.key) & mask;
+        
+        while(null != table.get(slot))
+        {
+            slot = (slot + 1) & mask;
+        }
+        
+        table.set(slot, tile);
+    }
+
+    private static int hash(long key)
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static class Tile
+    {
+        private final long key;
+        private final float[] coefficients;
+
+        private Tile(long key, float[] coefficients)
+        {
+            this.key = key;
+            this.coefficients = coefficients;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package robot;
+
+/**
+ * Source of time for the battery recharge and the robots' waits.
+ */
+public interface TimeSource
+{
+    /**
+     * Wall time, robots really sleep while their battery charges.
+     */
+    TimeSource SYSTEM = new TimeSource()
+    {
+        @Override
+        public long currentTimeMillis()
+        {
+            return System.nanoTime() / 1000000;
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException
+        {
+            Thread.sleep(millis);
+        }
+    };
+
+    /**
+     * @return The current time (milliseconds), only meaningful relatively to
+     * another value returned by the same source.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Waits until the given delay has elapsed on this source.
+     * 
+     * @param millis The delay (milliseconds).
+     * @throws InterruptedException If the thread cannot be put to sleep.
+     */
+    void sleep(long millis) throws InterruptedException;
+}
@@ -0,0 +1,14 @@
+package robot;
+
+/**
+ * Thrown by a {@link RoadBookPlanner} finding no path to the destination.
+ * Unchecked, as most planners always find one : {@link Robot#moveTo(robot.Coordinates)}
+ * keeps the exceptions it always declared.
+ */
+public class UnreachableDestinationException extends RuntimeException
+{
+    public UnreachableDestinationException()
+    {
+        super("Aucun chemin ne mène à la destination");
+    }
+}
@@ -0,0 +1,148 @@
+package robot;
+
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event time source : time only moves forward when someone waits on
+ * it, and then jumps straight to the end of the wait, by exactly the delay
+ * asked for. Nothing aligns the wake-ups on recharge tops : waiting for the
+ * delay the battery gives ({@link Battery#timeToSufficientCharge(double)})
+ * is what lands on the right one. Missions depending on battery recharges
+ * are thus simulated at CPU speed, with the same results as in wall time.
+ * 
+ * As a {@link Scheduler}, tasks are queued and run in time order by
+ * {@link #run()}, time jumping from one task to the next one.
+ * 
+ * Meant for a single simulation thread : {@link #sleep(long)} moves the time
+ * of every user of the source.
+ */
+public class VirtualTimeSource implements TimeSource, Scheduler
+{
+    private final PriorityQueue<Event> events;
+    private long now;
+    private long sequence;
+
+    public VirtualTimeSource()
+    {
+        this(0);
+    }
+
+    /**
+     * @param start The initial time (milliseconds).
+     */
+    public VirtualTimeSource(long start)
+    {
+        this.events = new PriorityQueue<>();
+        this.now = start;
+    }
+
+    @Override
+    public synchronized long currentTimeMillis()
+    {
+        return this.now;
+    }
+
+    /**
+     * Moves the time forward by the given delay, without running any queued
+     * task.
+     * 
+     * @param millis The delay (milliseconds).
+     */
+    @Override
+    public synchronized void sleep(long millis)
+    {
+        if(millis > 0)
+        {
+            this.now += millis;
+        }
+    }
+
+    @Override
+    public synchronized void schedule(Runnable task, long delayMillis)
+    {
+        this.events.add(new Event(this.now + Math.max(0, delayMillis), this.sequence++, task));
+    }
+
+    /**
+     * Runs the queued tasks (and the ones they queue) in time order until
+     * there are none left.
+     * 
+     * @return The time (milliseconds) after the last task.
+     */
+    public long run()
+    {
+        return this.runUntil(Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs the queued tasks due up to the given time, in time order, then
+     * moves the time to it.
+     * 
+     * @param time The time (milliseconds) to run to.
+     * @return The time (milliseconds) after the last task.
+     */
+    public long runUntil(long time)
+    {
+        Event event;
+        
+        while(null != (event = this.poll(time)))
+        {
+            event.task.run();
+        }
+        
+        synchronized(this)
+        {
+            if(time != Long.MAX_VALUE && this.now < time)
+            {
+                this.now = time;
+            }
+            
+            return this.now;
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting to be run.
+     */
+    public synchronized int pendingTasks()
+    {
+        return this.events.size();
+    }
+
+    private synchronized Event poll(long time)
+    {
+        Event event = this.events.peek();
+        
+        if(null == event || event.time > time)
+        {
+            return null;
+        }
+        
+        this.events.poll();
+        this.now = Math.max(this.now, event.time);
+        
+        return event;
+    }
+
+    private static class Event implements Comparable<Event>
+    {
+        private final long time;
+        private final long sequence;
+        private final Runnable task;
+
+        private Event(long time, long sequence, Runnable task)
+        {
+            this.time = time;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Event other)
+        {
+            int order = Long.compare(this.time, other.time);
+            
+            return order != 0 ? order : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
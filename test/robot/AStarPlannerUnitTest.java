@@ -0,0 +1,196 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+public class AStarPlannerUnitTest
+{
+    /**
+     * Unit test for {@link robot.AStarPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * The road book should go around a wall.
+     */
+    @Test
+    public void testPlanAroundWall() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        GridMap map = new GridMap(10, 10);
+        
+        for(int x = 0; x < 9; x++)
+        {
+            map.block(x, 5);
+        }
+        
+        AStarPlanner planner = new AStarPlanner(map);
+        
+        // Run assertions
+        RoadBook book = planner.plan(Direction.NORTH, new Coordinates(0, 0), new Coordinates(0, 9));
+        
+        assertEquals(27, follow(map, Direction.NORTH, new Coordinates(0, 0), new Coordinates(0, 9), book));
+    }
+    
+    /**
+     * Unit test for {@link robot.AStarPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * A walled destination cannot be reached.
+     */
+    @Test(expected=UnreachableDestinationException.class)
+    public void testPlanUnreachable() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        GridMap map = new GridMap(-5, -5, 10, 10);
+        map.block(2, 3);
+        map.block(4, 3);
+        map.block(3, 2);
+        map.block(3, 4);
+        AStarPlanner planner = new AStarPlanner(map);
+        
+        // Run assertions
+        planner.plan(Direction.NORTH, new Coordinates(-5, -5), new Coordinates(3, 3));
+    }
+    
+    /**
+     * Unit test for {@link robot.AStarPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * On random maps, the road books should be as short as the shortest paths
+     * found by a breadth first search.
+     */
+    @Test
+    public void testPlanShortestPaths()
+    {
+        // Initialize vars
+        Random random = new Random(11);
+        
+        // Run assertions
+        for(int i = 0; i < 50; i++)
+        {
+            GridMap map = randomMap(random, 30, 20, 0.3);
+            AStarPlanner planner = new AStarPlanner(map);
+            
+            for(int j = 0; j < 20; j++)
+            {
+                Coordinates position = new Coordinates(random.nextInt(30), random.nextInt(20));
+                Coordinates destination = new Coordinates(random.nextInt(30), random.nextInt(20));
+                int expected = shortestPath(map, position, destination);
+                
+                try
+                {
+                    RoadBook book = planner.plan(Direction.EAST, position, destination);
+                    
+                    assertEquals(expected, follow(map, Direction.EAST, position, destination, book));
+                }
+                catch(UnreachableDestinationException ex)
+                {
+                    assertEquals(-1, expected);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Builds a map whose cells are blocked with the given probability.
+     */
+    static GridMap randomMap(Random random, int width, int height, double density)
+    {
+        GridMap map = new GridMap(width, height);
+        
+        for(int x = 0; x < width; x++)
+        {
+            for(int y = 0; y < height; y++)
+            {
+                if(random.nextDouble() < density)
+                {
+                    map.block(x, y);
+                }
+            }
+        }
+        
+        return map;
+    }
+    
+    /**
+     * Follows the road book, checking that it only crosses free cells and
+     * ends at the destination.
+     * 
+     * @return The number of moves.
+     */
+    static int follow(GridMap map, Direction direction, Coordinates position, Coordinates destination, RoadBook book)
+    {
+        int moves = 0;
+        
+        while(book.hasInstruction())
+        {
+            switch(book.next())
+            {
+                case FORWARD:
+                    position = MapTools.nextForwardPosition(position, direction);
+                    moves++;
+                    break;
+                case BACKWARD:
+                    position = MapTools.nextBackwardPosition(position, direction);
+                    moves++;
+                    break;
+                case TURNLEFT:
+                    direction = MapTools.counterclockwise(direction);
+                    break;
+                case TURNRIGHT:
+                    direction = MapTools.clockwise(direction);
+                    break;
+            }
+            
+            assertFalse(
+                String.format("(%d ; %d) is blocked.", position.getX(), position.getY()),
+                map.isBlocked(position.getX(), position.getY())
+            );
+        }
+        
+        assertEquals(destination.getX(), position.getX());
+        assertEquals(destination.getY(), position.getY());
+        
+        return moves;
+    }
+    
+    /**
+     * Reference implementation : breadth first search.
+     * 
+     * @return The length of the shortest path, -1 if there is none.
+     */
+    static int shortestPath(GridMap map, Coordinates position, Coordinates destination)
+    {
+        if(map.isBlocked(position.getX(), position.getY()) || map.isBlocked(destination.getX(), destination.getY()))
+        {
+            return -1;
+        }
+        
+        int[] distances = new int[map.size()];
+        Arrays.fill(distances, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int start = map.indexOf(position.getX(), position.getY());
+        distances[start] = 0;
+        queue.add(start);
+        
+        while(!queue.isEmpty())
+        {
+            int node = queue.poll();
+            int[][] offsets = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+            
+            for(int[] offset : offsets)
+            {
+                int x = map.xOf(node) + offset[0];
+                int y = map.yOf(node) + offset[1];
+                
+                if(!map.isBlocked(x, y) && distances[map.indexOf(x, y)] < 0)
+                {
+                    distances[map.indexOf(x, y)] = distances[node] + 1;
+                    queue.add(map.indexOf(x, y));
+                }
+            }
+        }
+        
+        return distances[map.indexOf(destination.getX(), destination.getY())];
+    }
+}
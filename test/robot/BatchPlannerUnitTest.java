@@ -0,0 +1,120 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchPlannerUnitTest
+{
+    /**
+     * Unit test for {@link robot.BatchPlanner#plan(robot.Direction[], robot.Coordinates[], robot.Coordinates[])}.
+     * 
+     * Every trip of the batch should get the shortest road book, or none if
+     * its destination can't be reached, and no more planners should be
+     * created than workers.
+     */
+    @Test
+    public void testPlan()
+    {
+        // Initialize vars
+        Random random = new Random(7);
+        GridMap map = AStarPlannerUnitTest.randomMap(random, 40, 30, 0.3);
+        AtomicInteger createdPlanners = new AtomicInteger();
+        Direction[] directions = new Direction[2000];
+        Coordinates[] positions = new Coordinates[2000];
+        Coordinates[] destinations = new Coordinates[2000];
+        
+        for(int i = 0; i < directions.length; i++)
+        {
+            directions[i] = Direction.values()[random.nextInt(4)];
+            positions[i] = new Coordinates(random.nextInt(40), random.nextInt(30));
+            destinations[i] = new Coordinates(random.nextInt(40), random.nextInt(30));
+        }
+        
+        // Run assertions
+        RoadBook[] books;
+        
+        try(BatchPlanner planner = new BatchPlanner(() ->
+        {
+            createdPlanners.incrementAndGet();
+            
+            return new AStarPlanner(map);
+        }, 4))
+        {
+            books = planner.plan(directions, positions, destinations);
+        }
+        
+        assertEquals(directions.length, books.length);
+        assertTrue(createdPlanners.get() <= 4);
+        
+        for(int i = 0; i < books.length; i++)
+        {
+            int expected = AStarPlannerUnitTest.shortestPath(map, positions[i], destinations[i]);
+            
+            if(null == books[i])
+            {
+                assertEquals(-1, expected);
+            }
+            else
+            {
+                assertEquals(expected, AStarPlannerUnitTest.follow(map, directions[i], positions[i], destinations[i], books[i]));
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.BatchPlanner#plan(robot.Direction[], robot.Coordinates[], robot.Coordinates[])}.
+     * 
+     * Trips described by arrays of different lengths should be refused.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlanMismatchedTrips()
+    {
+        // Initialize vars
+        try(BatchPlanner planner = new BatchPlanner(ManhattanPlanner::new, 1))
+        {
+            // Run assertions
+            planner.plan(new Direction[2], new Coordinates[2], new Coordinates[1]);
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.BatchPlanner#plan(robot.Direction[], robot.Coordinates[], robot.Coordinates[])}.
+     * 
+     * Successive batches should reuse the planners of the previous ones.
+     */
+    @Test
+    public void testPlannersReused()
+    {
+        // Initialize vars
+        AtomicInteger createdPlanners = new AtomicInteger();
+        Direction[] directions = new Direction[1000];
+        Coordinates[] positions = new Coordinates[1000];
+        Coordinates[] destinations = new Coordinates[1000];
+        
+        for(int i = 0; i < directions.length; i++)
+        {
+            directions[i] = Direction.NORTH;
+            positions[i] = new Coordinates(0, 0);
+            destinations[i] = new Coordinates(i, i);
+        }
+        
+        // Run assertions
+        try(BatchPlanner planner = new BatchPlanner(() ->
+        {
+            createdPlanners.incrementAndGet();
+            
+            return new ManhattanPlanner();
+        }, 2))
+        {
+            for(int batch = 0; batch < 10; batch++)
+            {
+                assertNotNull(planner.plan(directions, positions, destinations)[999]);
+            }
+        }
+        
+        assertTrue(createdPlanners.get() <= 2);
+    }
+}
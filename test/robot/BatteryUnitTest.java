@@ -1,5 +1,7 @@
 package robot;
 
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
@@ -135,4 +137,258 @@ public class BatteryUnitTest
             cell.timeToSufficientCharge(120f)
         );
     }
+    
+    /**
+     * Unit test for {@link robot.Battery#setUp()}.
+     * 
+     * The charge level should be computed from the elapsed time when it is
+     * read : one top right after the landing, then one top every
+     * {@link robot.Battery#getChargeTop()} ms.
+     */
+    @Test
+    public void testSetUpChargesFromElapsedTime()
+    {
+        // Initialize vars
+        final long[] now = {5000};
+        Battery cell = new Battery()
+        {
+            @Override
+            protected long currentTimeMillis()
+            {
+                return now[0];
+            }
+        };
+        float expected = 100f;
+        
+        // Run assertions
+        cell.setUp();
+        
+        for(int top = 0; top < 40; top++)
+        {
+            expected = expected * 1.1f + 1;
+            
+            assertEquals(
+                "The battery's charge level should have been charged once per top.",
+                expected,
+                cell.getChargeLevel(),
+                0
+            );
+            
+            now[0] += cell.getChargeTop();
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.Battery#tearDown()}.
+     * 
+     * Once torn down, the battery shouldn't charge itself anymore.
+     */
+    @Test
+    public void testTearDown()
+    {
+        // Initialize vars
+        final long[] now = {0};
+        Battery cell = new Battery()
+        {
+            @Override
+            protected long currentTimeMillis()
+            {
+                return now[0];
+            }
+        };
+        
+        // Run assertions
+        cell.setUp();
+        now[0] += cell.getChargeTop();
+        cell.tearDown();
+        now[0] += 10 * cell.getChargeTop();
+        
+        assertEquals(
+            "The battery's charge level should have been frozen by tearDown().",
+            123.1f,
+            cell.getChargeLevel(),
+            0.001
+        );
+    }
+    
+    /**
+     * Unit test for {@link robot.Battery#setUp()}.
+     * 
+     * Setting the battery up several times (one robot per call) shouldn't
+     * speed up its charge.
+     */
+    @Test
+    public void testSetUpTwice()
+    {
+        // Initialize vars
+        final long[] now = {0};
+        Battery cell = new Battery()
+        {
+            @Override
+            protected long currentTimeMillis()
+            {
+                return now[0];
+            }
+        };
+        
+        // Run assertions
+        cell.setUp();
+        cell.setUp();
+        
+        assertEquals(
+            "The battery's charge level should have been charged only once.",
+            111f,
+            cell.getChargeLevel(),
+            0
+        );
+    }
+    
+    /**
+     * Unit test for {@link robot.Battery#topsToSufficientCharge(float, double)}.
+     * 
+     * The closed form should give the same number of tops as calling
+     * chargeFunction until the needed energy is reached, even when the needed
+     * energy is exactly one of the reachable charge levels or right next to it.
+     */
+    @Test
+    public void testTopsToSufficientChargeMatchesSimulation()
+    {
+        // Initialize vars
+        float[] charges = {0f, 0.5f, 1f, 3.7f, 42f, 100f, 1234.5f, 1e6f, 3e30f};
+        
+        // Run assertions
+        for(float charge : charges)
+        {
+            float reached = charge;
+            
+            for(int top = 0; top < 1000 && !Float.isInfinite(reached); top++)
+            {
+                double[] needs = {
+                    reached,
+                    Math.nextUp(reached),
+                    Math.nextDown(reached),
+                    (double) reached + 0.5,
+                    (double) reached * 1.05
+                };
+                
+                for(double need : needs)
+                {
+                    assertEquals(
+                        String.format("Wrong number of tops from %s to %s.", charge, need),
+                        simulateTops(charge, need),
+                        Battery.topsToSufficientCharge(charge, need)
+                    );
+                }
+                
+                reached = reached * 1.1f + 1;
+            }
+            
+            assertEquals(
+                "An infinite need should be reached once the charge overflows.",
+                simulateTops(charge, Double.POSITIVE_INFINITY),
+                Battery.topsToSufficientCharge(charge, Double.POSITIVE_INFINITY)
+            );
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.Battery#chargeAfter(float, long)}.
+     * 
+     * Applying many missed tops at once should give exactly the charge level
+     * reached by calling chargeFunction once per top, so that a wait of
+     * {@link robot.Battery#topsToSufficientCharge(float, double)} tops always
+     * reaches the needed energy.
+     */
+    @Test
+    public void testChargeAfterMatchesSimulation()
+    {
+        // Initialize vars
+        Random random = new Random(1);
+        
+        // Run assertions
+        for(int i = 0; i < 20000; i++)
+        {
+            float charge = random.nextFloat() * (random.nextBoolean() ? 100 : 1e6f);
+            long tops = random.nextInt(1200);
+            float expected = charge;
+            
+            for(long top = 0; top < tops; top++)
+            {
+                expected = expected * 1.1f + 1;
+            }
+            
+            assertEquals(
+                String.format("Wrong charge after %d tops from %s.", tops, charge),
+                expected,
+                Battery.chargeAfter(charge, tops),
+                0
+            );
+            
+            double need = charge + random.nextDouble() * 1e5;
+            
+            assertTrue(
+                String.format("The charge from %s should reach %s.", charge, need),
+                Battery.chargeAfter(charge, Battery.topsToSufficientCharge(charge, need)) >= need
+            );
+        }
+        
+        assertEquals(Float.POSITIVE_INFINITY, Battery.chargeAfter(0, Long.MAX_VALUE), 0);
+    }
+    
+    /**
+     * Reference implementation : calls chargeFunction until the needed energy
+     * is reached.
+     */
+    private static long simulateTops(float charge, double neededEnergy)
+    {
+        long tops = 0;
+        
+        while(charge < neededEnergy)
+        {
+            charge = charge * 1.1f + 1;
+            tops++;
+        }
+        
+        return tops;
+    }
+    
+    /**
+     * Unit test for {@link robot.Battery#tryUse(double)}.
+     * 
+     * Robots drawing from the same battery at once should never use more
+     * energy than it holds.
+     */
+    @Test
+    public void testSharedBatteryNeverOverdrawn() throws InterruptedException
+    {
+        // Initialize vars
+        final Battery cell = new Battery();
+        final AtomicInteger uses = new AtomicInteger();
+        Thread[] robots = new Thread[8];
+        
+        for(int i = 0; i < robots.length; i++)
+        {
+            robots[i] = new Thread(() ->
+            {
+                for(int j = 0; j < 50; j++)
+                {
+                    if(cell.tryUse(1))
+                    {
+                        uses.incrementAndGet();
+                    }
+                }
+            });
+            robots[i].start();
+        }
+        
+        for(Thread robot : robots)
+        {
+            robot.join();
+        }
+        
+        // Run assertions
+        assertEquals("The battery should have been used exactly 100 times.", 100, uses.get());
+        assertEquals("The battery should have been emptied.", 0f, cell.getChargeLevel(), 0);
+        assertFalse(cell.tryUse(1));
+    }
 }
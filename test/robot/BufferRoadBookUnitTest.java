@@ -0,0 +1,230 @@
+package robot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BufferRoadBookUnitTest
+{
+    private Path directory;
+    
+    @Before
+    public void setUp() throws IOException
+    {
+        this.directory = Files.createTempDirectory("roadbook");
+    }
+    
+    @After
+    public void tearDown() throws IOException
+    {
+        for(Path file : Files.newDirectoryStream(this.directory))
+        {
+            Files.delete(file);
+        }
+        
+        Files.delete(this.directory);
+    }
+    
+    /**
+     * Unit test for {@link robot.RoadBookFiles#map(java.nio.file.Path)}.
+     * 
+     * A road book written in either encoding should be read back with the
+     * same instructions, start and direction, across word boundaries.
+     */
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        // Initialize vars
+        Random random = new Random(42);
+        List<Instruction> instructions = new ArrayList<>();
+        
+        for(int i = 0; i < 1000; i++)
+        {
+            Instruction instruction = Instruction.values()[random.nextInt(4)];
+            
+            for(int count = random.nextInt(5); count >= 0; count--)
+            {
+                instructions.add(instruction);
+            }
+        }
+        
+        // Run assertions
+        for(RoadBookFiles.Encoding encoding : RoadBookFiles.Encoding.values())
+        {
+            Path file = this.directory.resolve(encoding + ".roadbook");
+            RoadBookFiles.write(file, new Coordinates(-3, 7), Direction.WEST, new RoadBook(instructions), encoding);
+            BufferRoadBook book = RoadBookFiles.map(file);
+            book.verify();
+            
+            assertEquals(encoding, book.getEncoding());
+            assertEquals(new Coordinates(-3, 7), book.getStart());
+            assertEquals(Direction.WEST, book.getDirection());
+            
+            for(int pass = 0; pass < 2; pass++)
+            {
+                List<Instruction> read = new ArrayList<>();
+                
+                while(book.hasInstruction())
+                {
+                    read.add(book.next());
+                }
+                
+                assertEquals(instructions, read);
+                book.rewind();
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.BufferRoadBook#skipRepeats(robot.Instruction)}.
+     * 
+     * Runs longer than an int of the run-length payload should be handed out
+     * whole, and the packed encoding should give the same runs.
+     */
+    @Test
+    public void testSkipRepeats() throws IOException
+    {
+        // Initialize vars
+        RunLengthRoadBook source = new RunLengthRoadBook();
+        source.append(Instruction.FORWARD, RoadBookFiles.MAX_RUN + 5);
+        source.append(Instruction.TURNLEFT, 1);
+        source.append(Instruction.FORWARD, 40);
+        Path file = this.directory.resolve("long.roadbook");
+        RoadBookFiles.write(file, new Coordinates(0, 0), Direction.NORTH, source, RoadBookFiles.Encoding.RUN_LENGTH);
+        BufferRoadBook book = RoadBookFiles.map(file);
+        
+        // Run assertions
+        assertEquals(4, book.getLength());
+        assertEquals(Instruction.FORWARD, book.next());
+        assertEquals(RoadBookFiles.MAX_RUN + 4, book.skipRepeats(Instruction.FORWARD));
+        assertEquals(0, book.skipRepeats(Instruction.FORWARD));
+        assertEquals(Instruction.TURNLEFT, book.next());
+        assertEquals(0, book.skipRepeats(Instruction.FORWARD));
+        assertEquals(Instruction.FORWARD, book.next());
+        assertEquals(39, book.skipRepeats(Instruction.FORWARD));
+        assertFalse(book.hasInstruction());
+        
+        source = new RunLengthRoadBook();
+        source.append(Instruction.BACKWARD, 70);
+        source.append(Instruction.TURNRIGHT, 2);
+        RoadBookFiles.write(file, new Coordinates(0, 0), Direction.NORTH, source, RoadBookFiles.Encoding.PACKED);
+        book = RoadBookFiles.map(file);
+        
+        assertEquals(72, book.getLength());
+        assertEquals(Instruction.BACKWARD, book.next());
+        assertEquals(69, book.skipRepeats(Instruction.BACKWARD));
+        assertEquals(Instruction.TURNRIGHT, book.next());
+        assertEquals(1, book.skipRepeats(Instruction.TURNRIGHT));
+        assertFalse(book.hasInstruction());
+    }
+    
+    /**
+     * Unit test for {@link robot.BufferRoadBook#verify()}.
+     * 
+     * An altered instruction should be caught by the checksum.
+     */
+    @Test(expected = IOException.class)
+    public void testVerifyCatchesAlteredInstruction() throws IOException
+    {
+        // Initialize vars
+        byte[] bytes = this.writeStraightLine();
+        bytes[RoadBookFiles.HEADER_SIZE + 3] ^= 1;
+        BufferRoadBook book = BufferRoadBook.wrap(ByteBuffer.wrap(bytes));
+        
+        // Run assertions
+        book.verify();
+    }
+    
+    /**
+     * Unit test for {@link robot.BufferRoadBook#wrap(java.nio.ByteBuffer)}.
+     * 
+     * A buffer cut before the end of the instructions should be refused.
+     */
+    @Test(expected = IOException.class)
+    public void testWrapRefusesTruncatedBuffer() throws IOException
+    {
+        // Initialize vars
+        byte[] bytes = this.writeStraightLine();
+        
+        // Run assertions
+        BufferRoadBook.wrap(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+    }
+    
+    /**
+     * Unit test for {@link robot.BufferRoadBook#wrap(java.nio.ByteBuffer)}.
+     * 
+     * A buffer without the magic number should be refused.
+     */
+    @Test(expected = IOException.class)
+    public void testWrapRefusesUnknownMagic() throws IOException
+    {
+        // Initialize vars
+        byte[] bytes = this.writeStraightLine();
+        bytes[0] = 0;
+        
+        // Run assertions
+        BufferRoadBook.wrap(ByteBuffer.wrap(bytes));
+    }
+    
+    /**
+     * Unit test for {@link robot.BufferRoadBook#next()}.
+     * 
+     * A run of no instruction, in a road book which wasn't verified, should
+     * fail when read instead of being followed.
+     */
+    @Test
+    public void testNextRefusesEmptyRun() throws IOException
+    {
+        // Initialize vars
+        Path file = this.directory.resolve("empty-run.roadbook");
+        RunLengthRoadBook runs = new RunLengthRoadBook();
+        runs.append(Instruction.FORWARD, 3);
+        runs.append(Instruction.TURNLEFT, 1);
+        RoadBookFiles.write(file, new Coordinates(0, 0), Direction.EAST, runs, RoadBookFiles.Encoding.RUN_LENGTH);
+        byte[] bytes = Files.readAllBytes(file);
+        
+        // Second run : keep the instruction, clear the count
+        bytes[RoadBookFiles.HEADER_SIZE + Integer.BYTES] &= 3;
+        bytes[RoadBookFiles.HEADER_SIZE + Integer.BYTES + 1] = 0;
+        bytes[RoadBookFiles.HEADER_SIZE + Integer.BYTES + 2] = 0;
+        bytes[RoadBookFiles.HEADER_SIZE + Integer.BYTES + 3] = 0;
+        BufferRoadBook book = BufferRoadBook.wrap(ByteBuffer.wrap(bytes));
+        
+        // Run assertions
+        for(int i = 0; i < 3; i++)
+        {
+            assertEquals(Instruction.FORWARD, book.next());
+        }
+        
+        assertTrue(book.hasInstruction());
+        
+        try
+        {
+            book.next();
+            fail("An empty run should be refused");
+        }
+        catch(UncheckedIOException ex)
+        {
+            // Expected
+        }
+    }
+    
+    private byte[] writeStraightLine() throws IOException
+    {
+        Path file = this.directory.resolve("line.roadbook");
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        book.append(Instruction.FORWARD, 100);
+        RoadBookFiles.write(file, new Coordinates(0, 0), Direction.EAST, book, RoadBookFiles.Encoding.PACKED);
+        
+        return Files.readAllBytes(file);
+    }
+}
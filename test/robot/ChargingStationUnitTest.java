@@ -0,0 +1,248 @@
+package robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ChargingStationUnitTest
+{
+    /**
+     * Unit test for {@link robot.ChargingStation#reserve(double)}.
+     * 
+     * Pending requests should be granted smallest first once the battery has
+     * charged, without drawing more than it holds.
+     */
+    @Test
+    public void testGrantsSmallestFirst() throws InsufficientChargeException
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        cell.setUp();
+        cell.use(111);
+        ChargingStation station = new ChargingStation(cell, clock, 60000);
+        List<Integer> grants = new ArrayList<>();
+        
+        // Run assertions
+        for(int energy : new int[] {30, 10, 20})
+        {
+            station.reserve(energy).thenRun(() -> grants.add(energy));
+        }
+        
+        assertEquals(3, station.pendingRequests());
+        
+        clock.run();
+        
+        assertEquals(Arrays.asList(10, 20, 30), grants);
+        assertEquals(0, station.pendingRequests());
+        assertTrue(cell.getChargeLevel() >= 0);
+    }
+    
+    /**
+     * Unit test for {@link robot.ChargingStation#reserve(double)}.
+     * 
+     * Once it has waited for longer than the starvation limit, a large
+     * request shouldn't be overtaken anymore by smaller ones.
+     */
+    @Test
+    public void testStarvationLimit()
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        cell.setUp();
+        ChargingStation station = new ChargingStation(cell, clock, 3000);
+        CompletableFuture<Void> large = station.reserve(200);
+        List<CompletableFuture<Void>> smalls = new ArrayList<>();
+        
+        // Run assertions
+        assertTrue(station.reserve(100).isDone());
+        
+        for(long time = 1000; time <= 10000; time += 1000)
+        {
+            clock.runUntil(time);
+            CompletableFuture<Void> small = station.reserve(5);
+            
+            if(time < 3000)
+            {
+                assertTrue("A small request should overtake a fresh large one.", small.isDone());
+            }
+            else if(!large.isDone())
+            {
+                assertFalse("A small request shouldn't overtake a starving one.", small.isDone());
+            }
+            
+            smalls.add(small);
+        }
+        
+        clock.run();
+        
+        assertTrue(large.isDone());
+        
+        for(CompletableFuture<Void> small : smalls)
+        {
+            assertTrue(small.isDone());
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.ChargingStation#reserve(double)}.
+     * 
+     * Cancelling a pending request should withdraw it, so that it doesn't
+     * hold the smaller ones back anymore.
+     */
+    @Test
+    public void testCancelWithdrawsRequest() throws InsufficientChargeException
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        cell.setUp();
+        cell.use(cell.getChargeLevel());
+        ChargingStation station = new ChargingStation(cell, clock, 0);
+        CompletableFuture<Void> large = station.reserve(100);
+        CompletableFuture<Void> small = station.reserve(1);
+        
+        // Run assertions
+        assertEquals(2, station.pendingRequests());
+        assertTrue(large.cancel(false));
+        assertEquals(1, station.pendingRequests());
+        
+        clock.runUntil(clock.currentTimeMillis() + cell.timeToSufficientCharge(1));
+        
+        assertTrue(small.isDone());
+        assertFalse(small.isCompletedExceptionally());
+        assertEquals(0, station.pendingRequests());
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#moveForward()}.
+     * 
+     * A robot interrupted while waiting for its grant should withdraw its
+     * request and stay where it is.
+     */
+    @Test
+    public void testMoveForwardInterruptedWhileWaiting() throws Exception
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        cell.setUp();
+        cell.use(cell.getChargeLevel());
+        ChargingStation station = new ChargingStation(cell, clock, 10000);
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        Robot robot = new Robot(60, cell, sensor, clock);
+        robot.land(new Coordinates(0, 0));
+        robot.setChargingStation(station);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        // The clock is never run : the grant can only be waited for
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                robot.moveForward();
+            }
+            catch(Exception ex)
+            {
+                failure.set(ex);
+            }
+        });
+        
+        // Run assertions
+        thread.start();
+        
+        while(station.pendingRequests() == 0)
+        {
+            Thread.sleep(1);
+        }
+        
+        thread.interrupt();
+        thread.join(10000);
+        
+        assertFalse(thread.isAlive());
+        assertTrue(failure.get() instanceof InterruptedException);
+        assertEquals(0, station.pendingRequests());
+        assertEquals(0, robot.getYposition());
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#moveForward()}.
+     * 
+     * A grant failing with anything else than a lack of charge should be
+     * reported as such rather than cast.
+     */
+    @Test(expected=IllegalStateException.class)
+    public void testMoveForwardStationFailure() throws Exception
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        ChargingStation station = Mockito.mock(ChargingStation.class);
+        CompletableFuture<Void> grant = new CompletableFuture<>();
+        grant.completeExceptionally(new UnsupportedOperationException());
+        Mockito.when(station.reserve(Mockito.anyDouble())).thenReturn(grant);
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        Robot robot = new Robot(60, cell, sensor, clock);
+        robot.land(new Coordinates(0, 0));
+        robot.setChargingStation(station);
+        
+        // Run assertions
+        robot.moveForward();
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#setChargingStation(robot.ChargingStation)}.
+     * 
+     * Robots sharing a battery through a station should all reach their
+     * destination, the station never letting them overdraw it.
+     */
+    @Test
+    public void testFleetSharingStation() throws UnlandedRobotException
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        ChargingStation station = new ChargingStation(cell, clock, 10000);
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        Fleet fleet = new Fleet();
+        
+        for(int i = 0; i < 10; i++)
+        {
+            Robot robot = new Robot(60, cell, sensor, clock);
+            robot.land(new Coordinates(i, 0));
+            robot.setChargingStation(station);
+            fleet.add(robot, new RoadBook(Arrays.asList(Instruction.FORWARD, Instruction.TURNLEFT, Instruction.FORWARD)));
+        }
+        
+        // Run assertions
+        FleetReport report = FleetExecutor.simulate(fleet, clock);
+        
+        assertEquals(0, report.getFailedRobots());
+        assertEquals(1200, report.getConsumedEnergy(), 0.001);
+        assertTrue(cell.getChargeLevel() >= 0);
+        assertEquals(0, station.pendingRequests());
+        
+        for(Robot robot : fleet.getRobots())
+        {
+            assertEquals(1, robot.getYposition());
+        }
+    }
+}
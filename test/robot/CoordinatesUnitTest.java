@@ -0,0 +1,73 @@
+package robot;
+
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CoordinatesUnitTest
+{
+    /**
+     * Unit test for {@link robot.Coordinates#pack(int, int)}.
+     * 
+     * Packing should keep both coordinates, whatever their sign.
+     */
+    @Test
+    public void testPackRoundTrip()
+    {
+        // Initialize vars
+        int[] values = {0, 1, -1, 42, -42, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        
+        // Run assertions
+        for(int x : values)
+        {
+            for(int y : values)
+            {
+                long position = Coordinates.pack(x, y);
+                
+                assertEquals(x, Coordinates.xOf(position));
+                assertEquals(y, Coordinates.yOf(position));
+                assertEquals(new Coordinates(x, y), Coordinates.of(position));
+                assertEquals(position, new Coordinates(x, y).pack());
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.Coordinates#equals(java.lang.Object)}.
+     * 
+     * Coordinates should be usable as keys.
+     */
+    @Test
+    public void testEqualsAndHashCode()
+    {
+        // Initialize vars
+        Set<Coordinates> positions = new HashSet<>();
+        positions.add(new Coordinates(3, -7));
+        
+        // Run assertions
+        assertTrue(positions.contains(new Coordinates(3, -7)));
+        assertFalse(positions.contains(new Coordinates(-7, 3)));
+        assertNotEquals(new Coordinates(3, -7), null);
+        assertEquals("(3 ; -7)", new Coordinates(3, -7).toString());
+    }
+    
+    /**
+     * Unit test for {@link robot.MapTools#nextForwardPosition(long, robot.Direction)}.
+     * 
+     * Moving a packed position should match moving its coordinates.
+     */
+    @Test
+    public void testPackedMoves()
+    {
+        // Initialize vars
+        Coordinates position = new Coordinates(-1, 0);
+        
+        // Run assertions
+        for(Direction direction : Direction.values())
+        {
+            assertEquals(MapTools.nextForwardPosition(position, direction).pack(), MapTools.nextForwardPosition(position.pack(), direction));
+            assertEquals(MapTools.nextBackwardPosition(position, direction).pack(), MapTools.nextBackwardPosition(position.pack(), direction));
+        }
+    }
+}
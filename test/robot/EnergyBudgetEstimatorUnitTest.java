@@ -0,0 +1,143 @@
+package robot;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class EnergyBudgetEstimatorUnitTest
+{
+    /**
+     * Unit test for {@link robot.EnergyBudgetEstimator#estimate(robot.RoadBook, robot.Coordinates, robot.Direction, robot.Battery)}.
+     * 
+     * The budget should match what a robot following the road book on a
+     * virtual clock actually spends and waits.
+     */
+    @Test
+    public void testEstimateMatchesTrip() throws Exception
+    {
+        // Initialize vars
+        Random random = new Random(42);
+        TerrainLandSensor sensor = new TerrainLandSensor(7);
+        EnergyBudgetEstimator estimator = new EnergyBudgetEstimator(sensor, 3);
+        
+        for(int trip = 0; trip < 20; trip++)
+        {
+            RunLengthRoadBook book = new RunLengthRoadBook();
+            
+            for(int run = 0; run < 12; run++)
+            {
+                book.append(Instruction.values()[random.nextInt(4)], 1 + random.nextInt(15));
+            }
+            
+            VirtualTimeSource clock = new VirtualTimeSource();
+            Battery cell = new Battery(clock);
+            Robot robot = new Robot(3, cell, sensor, clock);
+            robot.land(new Coordinates(trip, -trip));
+            
+            // Run assertions
+            EnergyBudget budget = estimator.estimate(book, new Coordinates(trip, -trip), Direction.NORTH, cell);
+            robot.setRoadBook(book);
+            robot.letsGo();
+            
+            assertEquals(robot.getConsumedEnergy(), budget.getEnergy(), 0);
+            assertEquals(robot.getChargeWaitTime(), budget.getChargeWaitTime());
+            assertEquals(clock.currentTimeMillis(), budget.getCompletionTime());
+            assertEquals(cell.getChargeLevel(), budget.getFinalChargeLevel(), 0);
+            assertTrue(budget.getLongestChargeWait() <= budget.getChargeWaitTime());
+            assertEquals(budget.getChargeWaits() == 0, budget.getChargeWaitTime() == 0);
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyBudgetEstimator#estimate(robot.RoadBook, robot.Coordinates, robot.Direction, float, long)}.
+     * 
+     * The road book should be left ready to be followed, and each wait
+     * should be counted.
+     */
+    @Test
+    public void testChargeWaits()
+    {
+        // Initialize vars
+        LandSensor sensor = new LandSensor(new Random())
+        {
+            @Override
+            public double getPointToPointEnergyCoefficient(Coordinates coordinate1, Coordinates coordinate2)
+            {
+                return 2;
+            }
+        };
+        EnergyBudgetEstimator estimator = new EnergyBudgetEstimator(sensor, 10);
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        book.append(Instruction.FORWARD, 3);
+        book.append(Instruction.TURNRIGHT, 1);
+        book.append(Instruction.BACKWARD, 3);
+        
+        // Run assertions
+        EnergyBudget budget = estimator.estimate(book, new Coordinates(0, 0), Direction.NORTH, 0f, 1000);
+        
+        assertEquals(120, budget.getEnergy(), 0);
+        assertEquals(2, budget.getChargeWaits());
+        assertEquals(Battery.topsToSufficientCharge(0f, 60) * 1000, budget.getLongestChargeWait());
+        assertFalse(budget.isUnreachable());
+        assertTrue(book.hasInstruction());
+        assertEquals(Instruction.FORWARD, book.next());
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyBudgetEstimator#estimate(robot.RoadBook, robot.Coordinates, robot.Direction, float, long)}.
+     * 
+     * A road book estimated while it is being followed should keep its
+     * cursor, and still be estimated as a whole.
+     */
+    @Test
+    public void testEstimateKeepsCursor()
+    {
+        // Initialize vars
+        EnergyBudgetEstimator estimator = new EnergyBudgetEstimator(new TerrainLandSensor(3), 1);
+        PackedRoadBook book = new PackedRoadBook();
+        book.append(Instruction.FORWARD, 40);
+        book.append(Instruction.TURNLEFT);
+        book.append(Instruction.BACKWARD, 5);
+        EnergyBudget whole = estimator.estimate(book, new Coordinates(0, 0), Direction.EAST, 50f, 1000);
+        book.next();
+        book.skipRepeats(Instruction.FORWARD);
+        
+        // Run assertions
+        EnergyBudget budget = estimator.estimate(book, new Coordinates(0, 0), Direction.EAST, 50f, 1000);
+        
+        assertEquals(whole.getEnergy(), budget.getEnergy(), 0);
+        assertEquals(whole.getChargeWaitTime(), budget.getChargeWaitTime());
+        assertEquals(40, book.position());
+        assertEquals(Instruction.TURNLEFT, book.next());
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyBudgetEstimator#estimate(robot.RoadBook, robot.Coordinates, robot.Direction, float, long)}.
+     * 
+     * A streaming road book can't be read ahead of the robot, and should be
+     * refused without taking any instruction from it.
+     */
+    @Test
+    public void testEstimateRefusesStreamingRoadBook() throws InterruptedException
+    {
+        // Initialize vars
+        EnergyBudgetEstimator estimator = new EnergyBudgetEstimator(new TerrainLandSensor(1), 1);
+        StreamingRoadBook book = new StreamingRoadBook();
+        book.put(Instruction.FORWARD, 2);
+        book.close();
+        
+        // Run assertions
+        try
+        {
+            estimator.estimate(book, new Coordinates(0, 0), Direction.NORTH, 100f, 1000);
+            fail("The streaming road book should have been refused");
+        }
+        catch(IllegalArgumentException ex)
+        {
+            // Expected
+        }
+        
+        assertEquals(Instruction.FORWARD, book.next());
+        assertEquals(1, book.skipRepeats(Instruction.FORWARD));
+    }
+}
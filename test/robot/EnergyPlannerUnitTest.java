@@ -0,0 +1,157 @@
+package robot;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class EnergyPlannerUnitTest
+{
+    /**
+     * Builds a land sensor for which crossing the column x = 5 between
+     * y = 0 and y = 8 is very expensive.
+     */
+    private static LandSensor swampSensor()
+    {
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenAnswer(new Answer<Double>()
+            {
+                @Override
+                public Double answer(InvocationOnMock invocation)
+                {
+                    Coordinates to = (Coordinates) invocation.getArguments()[1];
+                    
+                    return to.getX() == 5 && to.getY() < 9 ? 100. : 2.;
+                }
+            })
+        ;
+        
+        return sensor;
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * The road book should go around the expensive cells rather than through
+     * them, even though it is longer.
+     */
+    @Test
+    public void testPlanAvoidsExpensiveMoves() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        GridMap map = new GridMap(10, 10);
+        EnergyPlanner planner = new EnergyPlanner(map, swampSensor(), 2);
+        
+        // Run assertions
+        RoadBook book = planner.plan(Direction.EAST, new Coordinates(0, 0), new Coordinates(9, 0));
+        
+        assertEquals(27, AStarPlannerUnitTest.follow(map, Direction.EAST, new Coordinates(0, 0), new Coordinates(9, 0), book));
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyPlanner#precompute()}.
+     * 
+     * The coefficients should be asked to the sensor only once per move.
+     */
+    @Test
+    public void testCoefficientsAreCached() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        GridMap map = new GridMap(10, 10);
+        LandSensor sensor = swampSensor();
+        EnergyPlanner planner = new EnergyPlanner(map, sensor);
+        
+        // Run assertions
+        planner.precompute();
+        planner.plan(Direction.EAST, new Coordinates(0, 0), new Coordinates(9, 0));
+        planner.plan(Direction.NORTH, new Coordinates(9, 9), new Coordinates(0, 0));
+        
+        // 2 * 10 * 9 moves per axis, both ways
+        Mockito.verify(sensor, Mockito.times(360)).getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class));
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyPlanner#EnergyPlanner(robot.GridMap, robot.LandSensor)}.
+     * 
+     * The search should be guided by the lowest coefficient of the sensor,
+     * 2 for the random law.
+     */
+    @Test
+    public void testDefaultMinimumCoefficient()
+    {
+        // Initialize vars
+        GridMap map = new GridMap(10, 10);
+        EnergyPlanner planner = new EnergyPlanner(map, new LandSensor(new Random(42)));
+        
+        // Run assertions
+        assertEquals(36, planner.estimate(map.indexOf(0, 0), map.indexOf(9, 9)), 0);
+    }
+    
+    /**
+     * Unit test for {@link robot.LandSensor#getMinimumCoefficient()}.
+     * 
+     * Only the sensors whose law is known should bound their coefficients :
+     * a derived or mocked one may go below 2.
+     */
+    @Test
+    public void testMinimumCoefficientOfUnknownLaws()
+    {
+        // Initialize vars
+        LandSensor derived = new LandSensor(new Random(42))
+        {
+            @Override
+            public double getPointToPointEnergyCoefficient(Coordinates coordinate1, Coordinates coordinate2)
+            {
+                return 1;
+            }
+        };
+        
+        // Run assertions
+        assertEquals(2, new LandSensor(new Random(42)).getMinimumCoefficient(), 0);
+        assertEquals(2, new TerrainLandSensor(42).getMinimumCoefficient(), 0);
+        assertEquals(0, derived.getMinimumCoefficient(), 0);
+        assertEquals(0, Mockito.mock(LandSensor.class).getMinimumCoefficient(), 0);
+    }
+    
+    /**
+     * Unit test for {@link robot.EnergyPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * A move the sensor can't rate should fail the planning rather than be
+     * taken for a wall, and be asked again next time.
+     */
+    @Test
+    public void testPlanRejectsUnratedMoves() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        GridMap map = new GridMap(10, 10);
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        EnergyPlanner planner = new EnergyPlanner(map, sensor);
+        
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(Double.NaN)
+            .thenReturn(2.)
+        ;
+        
+        // Run assertions
+        try
+        {
+            planner.plan(Direction.EAST, new Coordinates(0, 0), new Coordinates(9, 0));
+            fail("An unrated move should fail the planning");
+        }
+        catch(IllegalStateException ex)
+        {
+            // Expected
+        }
+        
+        RoadBook book = planner.plan(Direction.EAST, new Coordinates(0, 0), new Coordinates(9, 0));
+        
+        assertEquals(9, AStarPlannerUnitTest.follow(map, Direction.EAST, new Coordinates(0, 0), new Coordinates(9, 0), book));
+    }
+}
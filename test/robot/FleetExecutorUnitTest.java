@@ -0,0 +1,57 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import org.mockito.Mockito;
+
+public class FleetExecutorUnitTest
+{
+    /**
+     * Unit test for {@link robot.FleetExecutor#run(robot.Fleet)}.
+     * 
+     * Every robot should follow its own road book, and the report should sum
+     * up what they did.
+     */
+    @Test
+    public void testRun() throws UnlandedRobotException
+    {
+        // Initialize vars
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(2.)
+        ;
+        Fleet fleet = new Fleet();
+        
+        for(int i = 0; i < 100; i++)
+        {
+            Robot robot = new Robot(new Battery(), sensor);
+            robot.land(new Coordinates(i, 0));
+            fleet.add(robot, new RoadBook(Arrays.asList(Instruction.FORWARD, Instruction.TURNRIGHT, Instruction.FORWARD, Instruction.BACKWARD)));
+        }
+        
+        // Run assertions
+        FleetReport report;
+        
+        try(FleetExecutor executor = new FleetExecutor(4))
+        {
+            report = executor.run(fleet);
+        }
+        
+        assertEquals(100, report.getRobots());
+        assertEquals(0, report.getFailedRobots());
+        assertEquals(400, report.getExecutedInstructions());
+        assertEquals(600, report.getConsumedEnergy(), 0.001);
+        assertEquals(0, report.getChargeWaitTime());
+        
+        for(int i = 0; i < 100; i++)
+        {
+            Robot robot = fleet.getRobots().get(i);
+            
+            assertEquals(i, robot.getXposition());
+            assertEquals(1, robot.getYposition());
+        }
+    }
+}
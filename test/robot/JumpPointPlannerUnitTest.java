@@ -0,0 +1,66 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class JumpPointPlannerUnitTest
+{
+    /**
+     * Unit test for {@link robot.JumpPointPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * On random maps, the road books should be as short as the shortest paths
+     * found by a breadth first search.
+     */
+    @Test
+    public void testPlanShortestPaths()
+    {
+        // Initialize vars
+        Random random = new Random(13);
+        
+        // Run assertions
+        for(int i = 0; i < 100; i++)
+        {
+            GridMap map = AStarPlannerUnitTest.randomMap(random, 30, 20, 0.05 + 0.4 * random.nextDouble());
+            JumpPointPlanner planner = new JumpPointPlanner(map);
+            
+            for(int j = 0; j < 20; j++)
+            {
+                Coordinates position = new Coordinates(random.nextInt(30), random.nextInt(20));
+                Coordinates destination = new Coordinates(random.nextInt(30), random.nextInt(20));
+                int expected = AStarPlannerUnitTest.shortestPath(map, position, destination);
+                
+                try
+                {
+                    RoadBook book = planner.plan(Direction.SOUTH, position, destination);
+                    
+                    assertEquals(expected, AStarPlannerUnitTest.follow(map, Direction.SOUTH, position, destination, book));
+                }
+                catch(UnreachableDestinationException ex)
+                {
+                    assertEquals(-1, expected);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.JumpPointPlanner#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * Crossing an open map should give a road book made of a few long legs.
+     */
+    @Test
+    public void testPlanOpenMap() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        GridMap map = new GridMap(1000, 1000);
+        JumpPointPlanner planner = new JumpPointPlanner(map);
+        
+        // Run assertions
+        RunLengthRoadBook book = (RunLengthRoadBook) planner.plan(Direction.NORTH, new Coordinates(0, 0), new Coordinates(999, 999));
+        
+        assertEquals(1998, AStarPlannerUnitTest.follow(map, Direction.NORTH, new Coordinates(0, 0), new Coordinates(999, 999), book));
+        assertTrue(book.runs() <= 3);
+    }
+}
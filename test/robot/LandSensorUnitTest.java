@@ -185,4 +185,89 @@ public class LandSensorUnitTest
             });
         });
     }
+    
+    /**
+     * Unit test for {@link robot.LandSensor#distance(long, long)}.
+     * 
+     * The distance between packed positions should be the one between their
+     * coordinates.
+     */
+    @Test
+    public void testPackedDistance()
+    {
+        // Initialize vars
+        LandSensor sensor = new LandSensor(new Random());
+        
+        // Run assertions
+        this.coordinatesList.stream().forEach((c1) ->
+        {
+            this.coordinatesList.stream().forEach((c2) ->
+            {
+                assertEquals(sensor.distance(c1, c2), sensor.distance(c1.pack(), c2.pack()), 0);
+            });
+        });
+    }
+    
+    /**
+     * Unit test for {@link robot.LandSensor#distance(long, long)}.
+     * 
+     * The distance should match the Euclidean formula, between neighbouring
+     * cells, along an axis and across the whole packed range.
+     */
+    @Test
+    public void testPackedDistanceMatchesEuclideanFormula()
+    {
+        // Initialize vars
+        LandSensor sensor = new LandSensor(new Random());
+        int[] values = {0, 1, -1, 3, -4, 1000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        
+        // Run assertions
+        for(int x1 : values)
+        {
+            for(int y1 : values)
+            {
+                for(int x2 : values)
+                {
+                    for(int y2 : values)
+                    {
+                        double dx = (double) x1 - x2;
+                        double dy = (double) y1 - y2;
+                        
+                        assertEquals(
+                            Math.hypot(dx, dy),
+                            sensor.distance(Coordinates.pack(x1, y1), Coordinates.pack(x2, y2)),
+                            Math.ulp(Math.hypot(dx, dy))
+                        );
+                    }
+                }
+            }
+        }
+        
+        assertEquals(1, sensor.distance(Coordinates.pack(3, 4), Coordinates.pack(3, 5)), 0);
+        assertEquals(5, sensor.distance(Coordinates.pack(0, 0), Coordinates.pack(3, 4)), 0);
+    }
+    
+    /**
+     * Unit test for {@link robot.LandSensor#getPointToPointEnergyCoefficient(long, long)}.
+     * 
+     * A sensor only redefining the coefficient between coordinates should be
+     * used by the packed variant too.
+     */
+    @Test
+    public void testPackedCoefficientDelegates()
+    {
+        // Initialize vars
+        LandSensor sensor = new LandSensor(new Random())
+        {
+            @Override
+            public double getPointToPointEnergyCoefficient(Coordinates coordinate1, Coordinates coordinate2)
+            {
+                return coordinate2.getX() + coordinate2.getY();
+            }
+        };
+        
+        // Run assertions
+        assertEquals(7, sensor.getPointToPointEnergyCoefficient(Coordinates.pack(3, 3), Coordinates.pack(3, 4)), 0);
+        assertEquals(7, sensor.coefficient(Coordinates.pack(3, 3), Coordinates.pack(3, 4)), 0);
+    }
 }
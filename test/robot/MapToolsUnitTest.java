@@ -0,0 +1,59 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class MapToolsUnitTest
+{
+    /**
+     * Unit test for {@link robot.MapTools#rotate(robot.Direction, int)}.
+     * 
+     * Rotating by k quarter turns should match k single turns, whichever the
+     * way.
+     */
+    @Test
+    public void testRotateMatchesSingleTurns()
+    {
+        for(Direction direction : Direction.values())
+        {
+            Direction right = direction;
+            Direction left = direction;
+            
+            for(int k = 0; k < 9; k++)
+            {
+                assertEquals(right, MapTools.rotate(direction, k));
+                assertEquals(left, MapTools.rotate(direction, -k));
+                assertEquals(k & 3, MapTools.clockwiseTurns(direction, right));
+                right = MapTools.clockwise(right);
+                left = MapTools.counterclockwise(left);
+            }
+        }
+        
+        assertEquals(Direction.EAST, MapTools.clockwise(Direction.NORTH));
+        assertEquals(Direction.WEST, MapTools.counterclockwise(Direction.NORTH));
+        assertEquals(Direction.SOUTH, MapTools.opposite(Direction.NORTH));
+    }
+    
+    /**
+     * Unit test for {@link robot.MapTools#nextForwardPosition(robot.Coordinates, robot.Direction)}.
+     * 
+     * Moving forward then backward should come back to the start, one cell
+     * away in the faced direction.
+     */
+    @Test
+    public void testForwardAndBackward()
+    {
+        Coordinates position = new Coordinates(2, -3);
+        
+        assertEquals(new Coordinates(2, -2), MapTools.nextForwardPosition(position, Direction.NORTH));
+        assertEquals(new Coordinates(1, -3), MapTools.nextForwardPosition(position, Direction.WEST));
+        assertEquals(new Coordinates(2, -4), MapTools.nextForwardPosition(position, Direction.SOUTH));
+        assertEquals(new Coordinates(3, -3), MapTools.nextForwardPosition(position, Direction.EAST));
+        
+        for(Direction direction : Direction.values())
+        {
+            assertEquals(position, MapTools.nextBackwardPosition(MapTools.nextForwardPosition(position, direction), direction));
+            assertEquals(MapTools.move(position.pack(), direction, 5), MapTools.move(position.pack(), MapTools.opposite(direction), -5));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedLandSensorUnitTest
+{
+    private Path directory;
+    
+    @Before
+    public void setUp() throws IOException
+    {
+        this.directory = Files.createTempDirectory("terrain");
+    }
+    
+    @After
+    public void tearDown() throws IOException
+    {
+        for(Path file : Files.newDirectoryStream(this.directory))
+        {
+            Files.delete(file);
+        }
+        
+        Files.delete(this.directory);
+    }
+    
+    /**
+     * Unit test for {@link robot.MappedLandSensor#getPointToPointEnergyCoefficient(robot.Coordinates, robot.Coordinates)}.
+     * 
+     * A terrain file generated from a seed should give the same coefficients
+     * as the seeded sensor, across tile boundaries and on the last partial
+     * tiles.
+     */
+    @Test
+    public void testGeneratedTerrainMatchesSeededSensor() throws IOException
+    {
+        // Initialize vars
+        TerrainLandSensor terrain = new TerrainLandSensor(42);
+        Path file = this.directory.resolve("seeded.terrain");
+        TerrainFiles.write(file, -70, -30, 150, 100, terrain::computeCellCoefficient);
+        
+        // Run assertions
+        try(MappedLandSensor sensor = new MappedLandSensor(file))
+        {
+            assertEquals(-70, sensor.getOriginX());
+            assertEquals(-30, sensor.getOriginY());
+            assertEquals(150, sensor.getWidth());
+            assertEquals(100, sensor.getHeight());
+            
+            for(int x = -70; x < 79; x++)
+            {
+                for(int y = -30; y < 69; y++)
+                {
+                    Coordinates c1 = new Coordinates(x, y);
+                    Coordinates c2 = new Coordinates(x + 1, y + 1);
+                    
+                    assertEquals(terrain.getCellCoefficient(x, y), sensor.getCellCoefficient(x, y), 0);
+                    assertEquals(
+                        terrain.getPointToPointEnergyCoefficient(c1, c2),
+                        sensor.getPointToPointEnergyCoefficient(c1, c2),
+                        0
+                    );
+                }
+            }
+            
+            assertTrue(Double.isNaN(sensor.getPointToPointEnergyCoefficient(new Coordinates(0, 0), new Coordinates(0, 0))));
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.TerrainFiles#convert(java.nio.file.Path, java.nio.file.Path, int, int, int, int)}.
+     * 
+     * Converting a raw grid should keep every coefficient at its cell.
+     */
+    @Test
+    public void testConvertedRawGrid() throws IOException
+    {
+        // Initialize vars
+        int width = 70;
+        int height = 65;
+        ByteBuffer buffer = ByteBuffer.allocate(width * height * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        
+        for(int i = 0; i < width * height; i++)
+        {
+            buffer.putFloat(i);
+        }
+        
+        Path raw = this.directory.resolve("grid.raw");
+        Path file = this.directory.resolve("grid.terrain");
+        Files.write(raw, buffer.array());
+        TerrainFiles.convert(raw, file, 10, 20, width, height);
+        
+        // Run assertions
+        try(MappedLandSensor sensor = new MappedLandSensor(file))
+        {
+            for(int y = 0; y < height; y++)
+            {
+                for(int x = 0; x < width; x++)
+                {
+                    assertEquals(y * width + x, sensor.getCellCoefficient(10 + x, 20 + y), 0);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.TerrainFiles#convert(java.nio.file.Path, java.nio.file.Path, int, int, int, int)}.
+     * 
+     * A raw grid spanning several rows and columns of tiles, the last ones
+     * partial, should be read band of rows by band of rows without mixing
+     * the bands up.
+     */
+    @Test
+    public void testConvertedRawGridOverSeveralBands() throws IOException
+    {
+        // Initialize vars
+        int width = 3 * TerrainFiles.DEFAULT_TILE_SIZE + 11;
+        int height = 4 * TerrainFiles.DEFAULT_TILE_SIZE + 5;
+        ByteBuffer buffer = ByteBuffer.allocate(width * height * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        
+        for(int i = 0; i < width * height; i++)
+        {
+            buffer.putFloat(i);
+        }
+        
+        Path raw = this.directory.resolve("large.raw");
+        Path file = this.directory.resolve("large.terrain");
+        Files.write(raw, buffer.array());
+        TerrainFiles.convert(raw, file, -100, -7, width, height);
+        
+        // Run assertions
+        try(MappedLandSensor sensor = new MappedLandSensor(file))
+        {
+            for(int y = 0; y < height; y++)
+            {
+                for(int x = 0; x < width; x++)
+                {
+                    assertEquals(y * width + x, sensor.getCellCoefficient(-100 + x, -7 + y), 0);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.MappedLandSensor#getCellCoefficient(int, int)}.
+     * 
+     * Cells out of the terrain have no coefficient.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCellOutOfTerrain() throws IOException
+    {
+        // Initialize vars
+        Path file = this.directory.resolve("flat.terrain");
+        TerrainFiles.write(file, 0, 0, 10, 10, (x, y) -> 2);
+        
+        // Run assertions
+        try(MappedLandSensor sensor = new MappedLandSensor(file))
+        {
+            sensor.getCellCoefficient(10, 0);
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.MappedLandSensor#MappedLandSensor(java.nio.file.Path)}.
+     * 
+     * A file without the terrain header should be rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testRejectsForeignFile() throws IOException
+    {
+        // Initialize vars
+        Path file = this.directory.resolve("foreign.terrain");
+        Files.write(file, new byte[128]);
+        
+        // Run assertions
+        new MappedLandSensor(file).close();
+    }
+}
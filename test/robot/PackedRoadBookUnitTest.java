@@ -0,0 +1,117 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class PackedRoadBookUnitTest
+{
+    /**
+     * Unit test for {@link robot.PackedRoadBook#next()}.
+     * 
+     * The instructions should be read back in the order they were given.
+     */
+    @Test
+    public void testNext()
+    {
+        // Initialize vars
+        List<Instruction> instructions = Arrays.asList(Instruction.FORWARD, Instruction.TURNLEFT, Instruction.BACKWARD, Instruction.TURNRIGHT);
+        PackedRoadBook book = new PackedRoadBook(instructions);
+        List<Instruction> read = new ArrayList<>();
+        
+        // Run assertions
+        while(book.hasInstruction())
+        {
+            read.add(book.next());
+        }
+        
+        assertEquals(instructions, read);
+        assertEquals(4, book.size());
+        
+        book.rewind();
+        
+        assertTrue(book.hasInstruction());
+        assertEquals(Instruction.FORWARD, book.next());
+    }
+    
+    /**
+     * Unit test for {@link robot.PackedRoadBook#append(robot.Instruction, int)}.
+     * 
+     * Bulk appends crossing word boundaries should give the same road book as
+     * appending the instructions one by one.
+     */
+    @Test
+    public void testBulkAppend()
+    {
+        // Initialize vars
+        Random random = new Random(7);
+        PackedRoadBook bulk = new PackedRoadBook();
+        List<Instruction> expected = new ArrayList<>();
+        
+        for(int i = 0; i < 200; i++)
+        {
+            Instruction instruction = Instruction.values()[random.nextInt(4)];
+            int count = random.nextInt(100);
+            bulk.append(instruction, count);
+            
+            for(int j = 0; j < count; j++)
+            {
+                expected.add(instruction);
+            }
+        }
+        
+        // Run assertions
+        assertEquals(expected.size(), bulk.size());
+        
+        for(int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i), bulk.get(i));
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.PackedRoadBook#get(int)}.
+     */
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds()
+    {
+        // Initialize vars
+        PackedRoadBook book = new PackedRoadBook();
+        book.append(Instruction.FORWARD, 3);
+        
+        // Run assertions
+        book.get(3);
+    }
+    
+    /**
+     * Unit test for {@link robot.PackedRoadBook#snapshot()}.
+     * 
+     * A snapshot should read the instructions from the first one, and
+     * neither its cursor nor later appends should affect the road book.
+     */
+    @Test
+    public void testSnapshot()
+    {
+        // Initialize vars
+        PackedRoadBook book = new PackedRoadBook();
+        book.append(Instruction.BACKWARD, 33);
+        book.next();
+        
+        // Run assertions
+        PackedRoadBook snapshot = book.snapshot();
+        
+        assertEquals(33, snapshot.size());
+        assertEquals(0, snapshot.position());
+        assertEquals(Instruction.BACKWARD, snapshot.next());
+        assertEquals(32, snapshot.skipRepeats(Instruction.BACKWARD));
+        
+        snapshot.append(Instruction.TURNLEFT);
+        
+        assertEquals(33, book.size());
+        assertEquals(1, book.position());
+    }
+}
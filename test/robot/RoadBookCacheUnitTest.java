@@ -0,0 +1,161 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RoadBookCacheUnitTest
+{
+    /**
+     * Unit test for {@link robot.RoadBookCache#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * A trip repeated from another position should be found in the cache,
+     * and give the same instructions as the calculator.
+     */
+    @Test
+    public void testPlanReusesDisplacements() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        RoadBookCache cache = new RoadBookCache(new ManhattanPlanner(), 100);
+        
+        // Run assertions
+        RoadBook first = cache.plan(Direction.NORTH, new Coordinates(0, 0), new Coordinates(-3, 5));
+        RoadBook second = cache.plan(Direction.NORTH, new Coordinates(10, -20), new Coordinates(7, -15));
+        RoadBook turned = cache.plan(Direction.EAST, new Coordinates(10, -20), new Coordinates(7, -15));
+        
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.size());
+        assertNotSame(first, second);
+        assertEquals(read(RoadBookCalculator.calculateRoadBook(Direction.NORTH, new Coordinates(0, 0), new Coordinates(-3, 5))), read(first));
+        assertEquals(read(RoadBookCalculator.calculateRoadBook(Direction.NORTH, new Coordinates(0, 0), new Coordinates(-3, 5))), read(second));
+        assertEquals(read(RoadBookCalculator.calculateRoadBook(Direction.EAST, new Coordinates(0, 0), new Coordinates(-3, 5))), read(turned));
+    }
+    
+    /**
+     * Unit test for {@link robot.RoadBookCache#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * The cache should keep at most its maximum number of road books,
+     * evicting the least recently used ones while the trip repeated between
+     * every other one stays.
+     */
+    @Test
+    public void testPlanEvictsLeastRecentlyUsed() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        RoadBookCache cache = new RoadBookCache(new ManhattanPlanner(), 2 * RoadBookCache.SEGMENTS);
+        Coordinates origin = new Coordinates(0, 0);
+        
+        // Run assertions
+        for(int i = 0; i < 1000; i++)
+        {
+            cache.plan(Direction.EAST, origin, new Coordinates(1, 1));
+            cache.plan(Direction.NORTH, origin, new Coordinates(i, 2 * i + 7));
+        }
+        
+        assertTrue(cache.size() <= 2 * RoadBookCache.SEGMENTS);
+        assertEquals(cache.getMisses() - cache.size(), cache.getEvictions());
+        assertEquals(999, cache.getHits());
+        
+        cache.clear();
+        
+        assertEquals(0, cache.size());
+    }
+    
+    /**
+     * Unit test for {@link robot.RoadBookCache#plan(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * Trips all starting in the same direction should be spread over every
+     * segment : split by direction, they would only get a quarter of the
+     * room, 32 road books here.
+     */
+    @Test
+    public void testPlanSpreadsOneDirection() throws UnreachableDestinationException
+    {
+        // Initialize vars
+        RoadBookCache cache = new RoadBookCache(new ManhattanPlanner(), 8 * RoadBookCache.SEGMENTS);
+        Coordinates origin = new Coordinates(0, 0);
+        
+        // Run assertions
+        for(int i = 0; i < 64; i++)
+        {
+            cache.plan(Direction.NORTH, origin, new Coordinates(i % 8, i / 8));
+        }
+        
+        assertTrue(cache.size() > 32);
+        assertEquals(64, cache.size() + cache.getEvictions());
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#moveTo(robot.Coordinates)}.
+     * 
+     * Robots sharing a cache should follow the same road books at the same
+     * time, each one with its own cursor.
+     */
+    @Test
+    public void testRobotsShareRoadBooks() throws Exception
+    {
+        // Initialize vars
+        LandSensor sensor = new TerrainLandSensor(42);
+        RoadBookCache cache = new RoadBookCache(new ManhattanPlanner(), 100);
+        List<Thread> threads = new ArrayList<>();
+        List<Robot> robots = new ArrayList<>();
+        
+        for(int i = 0; i < 8; i++)
+        {
+            Robot robot = new Robot(0.01, new Battery(), sensor);
+            robot.land(new Coordinates(i, 0));
+            robot.setPlanner(cache);
+            robots.add(robot);
+            threads.add(new Thread(() ->
+            {
+                try
+                {
+                    for(int trip = 0; trip < 50; trip++)
+                    {
+                        robot.moveTo(new Coordinates(robot.getXposition() + 2, robot.getYposition() + 1));
+                        robot.moveTo(new Coordinates(robot.getXposition() - 2, robot.getYposition() - 1));
+                    }
+                }
+                catch(Exception e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        
+        for(Thread thread : threads)
+        {
+            thread.start();
+        }
+        
+        for(Thread thread : threads)
+        {
+            thread.join();
+        }
+        
+        // Run assertions
+        for(int i = 0; i < 8; i++)
+        {
+            assertEquals(i, robots.get(i).getXposition());
+            assertEquals(0, robots.get(i).getYposition());
+        }
+        
+        assertEquals(800, cache.getHits() + cache.getMisses());
+        assertTrue(cache.size() <= 8);
+    }
+    
+    private static List<Instruction> read(RoadBook book)
+    {
+        List<Instruction> instructions = new ArrayList<>();
+        
+        while(book.hasInstruction())
+        {
+            instructions.add(book.next());
+        }
+        
+        return instructions;
+    }
+}
@@ -0,0 +1,198 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class RoadBookCalculatorUnitTest
+{
+    /**
+     * Unit test for {@link robot.RoadBookCalculator#calculateRoadBook(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * The road book should be the one built instruction by instruction by the
+     * former recursive calculator.
+     */
+    @Test
+    public void testCalculateRoadBookMatchesStepByStepPlanning()
+    {
+        // Initialize vars
+        Random random = new Random(3);
+        
+        // Run assertions
+        for(int i = 0; i < 2000; i++)
+        {
+            Direction direction = Direction.values()[random.nextInt(4)];
+            Coordinates position = new Coordinates(random.nextInt(41) - 20, random.nextInt(41) - 20);
+            Coordinates destination = new Coordinates(random.nextInt(41) - 20, random.nextInt(41) - 20);
+            
+            assertEquals(
+                String.format(
+                    "Wrong road book from (%d ; %d) facing %s to (%d ; %d).",
+                    position.getX(), position.getY(), direction,
+                    destination.getX(), destination.getY()
+                ),
+                planStepByStep(direction, position, destination),
+                read(RoadBookCalculator.calculateRoadBook(direction, position, destination))
+            );
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.RoadBookCalculator#calculateRoadBook(robot.Direction, robot.Coordinates, robot.Coordinates)}.
+     * 
+     * Long trips shouldn't overflow the stack.
+     */
+    @Test
+    public void testCalculateRoadBookLongTrip()
+    {
+        // Initialize vars
+        RunLengthRoadBook book = (RunLengthRoadBook) RoadBookCalculator.calculateRoadBook(
+            Direction.NORTH, new Coordinates(0, 0), new Coordinates(-10000000, 10000000)
+        );
+        
+        // Run assertions
+        assertEquals(20000003, book.size());
+        assertEquals(3, book.runs());
+    }
+    
+    /**
+     * Unit test for {@link robot.RoadBookCalculator#calculateRoadBook(robot.Direction, robot.Coordinates, robot.Coordinates, robot.InstructionCosts)}.
+     * 
+     * A destination on the left should be reached by turning left once rather
+     * than right three times.
+     */
+    @Test
+    public void testCalculateCheapestRoadBookTurnsLeft()
+    {
+        // Initialize vars
+        RunLengthRoadBook book = (RunLengthRoadBook) RoadBookCalculator.calculateRoadBook(
+            Direction.NORTH, new Coordinates(0, 0), new Coordinates(-5, 0), InstructionCosts.UNIT
+        );
+        
+        // Run assertions
+        assertEquals(2, book.runs());
+        assertEquals(Instruction.TURNLEFT, book.getInstruction(0));
+        assertEquals(1, book.getCount(0));
+        assertEquals(Instruction.FORWARD, book.getInstruction(1));
+        assertEquals(5, book.getCount(1));
+    }
+    
+    /**
+     * Unit test for {@link robot.RoadBookCalculator#calculateRoadBook(robot.Direction, robot.Coordinates, robot.Coordinates, robot.InstructionCosts)}.
+     * 
+     * The cheapest road book should reach the destination, and never cost more
+     * than the right-turns-only one.
+     */
+    @Test
+    public void testCalculateCheapestRoadBook()
+    {
+        // Initialize vars
+        Random random = new Random(5);
+        InstructionCosts costs = new InstructionCosts(1, 1.5, 1, 1);
+        
+        // Run assertions
+        for(int i = 0; i < 2000; i++)
+        {
+            Direction direction = Direction.values()[random.nextInt(4)];
+            Coordinates position = new Coordinates(random.nextInt(41) - 20, random.nextInt(41) - 20);
+            Coordinates destination = new Coordinates(random.nextInt(41) - 20, random.nextInt(41) - 20);
+            List<Instruction> cheapest = read(RoadBookCalculator.calculateRoadBook(direction, position, destination, costs));
+            List<Instruction> rightOnly = read(RoadBookCalculator.calculateRoadBook(direction, position, destination));
+            
+            // Follow the road book
+            int x = position.getX();
+            int y = position.getY();
+            Direction heading = direction;
+            
+            for(Instruction instruction : cheapest)
+            {
+                Coordinates next = new Coordinates(x, y);
+                
+                switch(instruction)
+                {
+                    case FORWARD:
+                        next = MapTools.nextForwardPosition(next, heading);
+                        break;
+                    case BACKWARD:
+                        next = MapTools.nextBackwardPosition(next, heading);
+                        break;
+                    case TURNLEFT:
+                        heading = MapTools.counterclockwise(heading);
+                        break;
+                    case TURNRIGHT:
+                        heading = MapTools.clockwise(heading);
+                        break;
+                }
+                
+                x = next.getX();
+                y = next.getY();
+            }
+            
+            assertEquals(destination.getX(), x);
+            assertEquals(destination.getY(), y);
+            assertTrue(cost(cheapest, costs) <= cost(rightOnly, costs));
+        }
+    }
+    
+    private static double cost(List<Instruction> instructions, InstructionCosts costs)
+    {
+        double cost = 0;
+        
+        for(Instruction instruction : instructions)
+        {
+            cost += costs.getCost(instruction);
+        }
+        
+        return cost;
+    }
+    
+    /**
+     * Reference implementation : turns right until facing a useful direction,
+     * then moves forward by one cell, and so on.
+     */
+    private static List<Instruction> planStepByStep(Direction direction, Coordinates position, Coordinates destination)
+    {
+        List<Instruction> instructions = new ArrayList<>();
+        int x = position.getX();
+        int y = position.getY();
+        
+        while(x != destination.getX() || y != destination.getY())
+        {
+            boolean useful =
+                (direction == Direction.WEST && destination.getX() < x) ||
+                (direction == Direction.EAST && destination.getX() > x) ||
+                (direction == Direction.SOUTH && destination.getY() < y) ||
+                (direction == Direction.NORTH && destination.getY() > y);
+            
+            if(useful)
+            {
+                Coordinates next = MapTools.nextForwardPosition(new Coordinates(x, y), direction);
+                x = next.getX();
+                y = next.getY();
+                instructions.add(Instruction.FORWARD);
+            }
+            else
+            {
+                direction = MapTools.clockwise(direction);
+                instructions.add(Instruction.TURNRIGHT);
+            }
+        }
+        
+        return instructions;
+    }
+    
+    private static List<Instruction> read(RoadBook book)
+    {
+        List<Instruction> instructions = new ArrayList<>();
+        
+        while(book.hasInstruction())
+        {
+            instructions.add(book.next());
+        }
+        
+        return instructions;
+    }
+}
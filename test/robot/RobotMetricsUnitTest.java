@@ -0,0 +1,131 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class RobotMetricsUnitTest
+{
+    /**
+     * Unit test for {@link robot.Robot#setMetrics(robot.RobotMetrics)}.
+     * 
+     * The metrics should count the instructions, the steps, the sensor calls,
+     * the energy and the charge waits of the trip.
+     */
+    @Test
+    public void testRecordsTrip() throws Exception
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(2.)
+        ;
+        RobotMetrics metrics = new RobotMetrics();
+        Robot robot = new Robot(10, new Battery(clock), sensor, clock);
+        robot.land(new Coordinates(0, 0));
+        robot.setMetrics(metrics);
+        
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        book.append(Instruction.FORWARD, 5);
+        book.append(Instruction.TURNLEFT, 2);
+        book.append(Instruction.BACKWARD, 3);
+        robot.setRoadBook(book);
+        
+        // Run assertions
+        robot.letsGo();
+        RobotMetrics.Snapshot snapshot = metrics.snapshot();
+        
+        assertEquals(5, snapshot.getInstructionCount(Instruction.FORWARD));
+        assertEquals(2, snapshot.getInstructionCount(Instruction.TURNLEFT));
+        assertEquals(3, snapshot.getInstructionCount(Instruction.BACKWARD));
+        assertEquals(0, snapshot.getInstructionCount(Instruction.TURNRIGHT));
+        assertEquals(8, snapshot.getSteps());
+        assertEquals(8, snapshot.getSensorCalls());
+        assertEquals(160, snapshot.getEnergy(), 0);
+        assertEquals(20, snapshot.getEnergyPerStep(), 0);
+        assertEquals(1, snapshot.getForwardLatency().getCount());
+        assertEquals(1, snapshot.getBackwardLatency().getCount());
+        assertEquals(robot.getChargeWaitTime(), snapshot.getChargeWaitTime());
+        assertEquals(1, snapshot.getChargeWaits());
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#setMetrics(robot.RobotMetrics)}.
+     * 
+     * The land sensor calls of a move that fails should be counted, and not
+     * its steps.
+     */
+    @Test
+    public void testCountsSensorCallsOfFailedMoves() throws Exception
+    {
+        // Initialize vars
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(2.)
+        ;
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.timeToSufficientCharge(Mockito.anyDouble()))
+            .thenReturn(Long.MAX_VALUE)
+        ;
+        RobotMetrics metrics = new RobotMetrics();
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(0, 0));
+        robot.setMetrics(metrics);
+        
+        // Run assertions
+        try
+        {
+            robot.moveForward(4);
+            fail("The move should have failed");
+        }
+        catch(InsufficientChargeException ex)
+        {
+            // Expected
+        }
+        
+        RobotMetrics.Snapshot snapshot = metrics.snapshot();
+        
+        assertEquals(4, snapshot.getSensorCalls());
+        assertEquals(0, snapshot.getSteps());
+        Mockito.verify(sensor, Mockito.times(4)).getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class));
+    }
+    
+    /**
+     * Unit test for {@link robot.LatencyHistogram#record(long)}.
+     * 
+     * Percentiles should be known within the bucket precision.
+     */
+    @Test
+    public void testLatencyPercentiles()
+    {
+        // Initialize vars
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        for(long value = 1; value <= 100000; value++)
+        {
+            histogram.record(value);
+        }
+        
+        // Run assertions
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertEquals(100000, snapshot.getCount());
+        assertEquals(100000, snapshot.getMax());
+        assertEquals(50000.5, snapshot.getMean(), 0);
+        assertEquals(50000, snapshot.getValueAtPercentile(50), 50000 / 32.);
+        assertEquals(99000, snapshot.getValueAtPercentile(99), 99000 / 32.);
+        assertEquals(100000, snapshot.getValueAtPercentile(100));
+        
+        for(long value = 0; value < 1L << 40; value = value * 3 + 1)
+        {
+            int index = LatencyHistogram.indexOf(value);
+            
+            assertTrue(LatencyHistogram.highestValueOf(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value);
+        }
+    }
+}
@@ -3,7 +3,12 @@ package robot;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 
@@ -125,4 +130,261 @@ public class RobotUnitTest
         assertEquals(4, robot.getXposition());
         assertEquals(9, robot.getYposition());
     }
+
+    @Test
+    public void testMoveForwardAsyncWaitsForChargeWithoutBlocking() throws UnlandedRobotException
+    {
+        // Mock battery
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(0f)
+            .thenReturn(100f)
+        ;
+        Mockito
+            .when(cell.timeToSufficientCharge(Matchers.anyDouble()))
+            .thenReturn(3000L)
+        ;
+        
+        // Mock land sensor
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        
+        // Record scheduled tasks instead of running them
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> delays = new ArrayList<>();
+        Scheduler scheduler = (task, delayMillis) ->
+        {
+            tasks.add(task);
+            delays.add(delayMillis);
+        };
+        
+        // Then, create robot and run assertions
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(3, 0));
+        
+        CompletableFuture<Void> move = robot.moveForwardAsync(scheduler);
+        
+        assertFalse(move.isDone());
+        assertEquals(Arrays.asList(3000L), delays);
+        assertEquals(0, robot.getYposition());
+        
+        tasks.get(0).run();
+        
+        assertTrue(move.isDone());
+        assertFalse(move.isCompletedExceptionally());
+        assertEquals(3, robot.getXposition());
+        assertEquals(1, robot.getYposition());
+    }
+
+    @Test
+    public void testFollowInstructionAsync() throws Exception
+    {
+        Robot robot = new Robot();
+        robot.land(new Coordinates(5, 7));
+        robot.setRoadBook(new RoadBook(Arrays.asList(Instruction.FORWARD, Instruction.FORWARD, Instruction.TURNLEFT, Instruction.BACKWARD)));
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try
+        {
+            robot.letsGoAsync(Scheduler.of(executor)).get();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        assertEquals(6, robot.getXposition());
+        assertEquals(9, robot.getYposition());
+    }
+
+    @Test
+    public void testLetsGoMovesRunsAtOnce() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        // Mock battery
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(100f)
+        ;
+        
+        // Mock land sensor
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(2.)
+        ;
+        
+        // Then, create robot and run assertions
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        book.append(Instruction.FORWARD, 5);
+        book.append(Instruction.TURNRIGHT, 1);
+        book.append(Instruction.BACKWARD, 2);
+        
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(0, 0));
+        robot.setRoadBook(book);
+        robot.letsGo();
+        
+        assertEquals(-2, robot.getXposition());
+        assertEquals(5, robot.getYposition());
+        assertEquals(8, robot.getExecutedInstructions());
+        Mockito.verify(sensor, Mockito.times(7)).getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class));
+        Mockito.verify(cell, Mockito.times(1)).use(10.);
+        Mockito.verify(cell, Mockito.times(1)).use(4.);
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#letsGo()}.
+     * 
+     * A run of turns should be done in one rotation, and still counted turn
+     * by turn.
+     */
+    @Test
+    public void testLetsGoTurnsRunsAtOnce() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        // Mock battery
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(100f)
+        ;
+        
+        // Mock land sensor
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(2.)
+        ;
+        
+        // Then, create robot and run assertions
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        book.append(Instruction.TURNLEFT, 3);
+        book.append(Instruction.FORWARD, 1);
+        book.append(Instruction.TURNRIGHT, 6);
+        
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(0, 0));
+        robot.setRoadBook(book);
+        robot.letsGo();
+        
+        assertEquals(1, robot.getXposition());
+        assertEquals(0, robot.getYposition());
+        assertEquals(Direction.WEST, robot.getDirection());
+        assertEquals(10, robot.getExecutedInstructions());
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#moveForward()}.
+     * 
+     * A robot losing the energy to another robot sharing its battery, the
+     * battery being charged again right after, should retry instead of
+     * failing.
+     */
+    @Test
+    public void testMoveForwardRetriesLostRace() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        // Mock battery
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(100f)
+        ;
+        Mockito
+            .doThrow(new InsufficientChargeException())
+            .doNothing()
+            .when(cell).use(Matchers.anyDouble())
+        ;
+        
+        // Mock land sensor
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        
+        // Then, create robot and run assertions
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(0, 0));
+        robot.moveForward();
+        
+        Mockito.verify(cell, Mockito.times(2)).use(1.);
+        assertEquals(1, robot.getYposition());
+        assertEquals(1, robot.getConsumedEnergy(), 0);
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#moveForward()}.
+     * 
+     * A robot losing the energy again and again while the battery reports
+     * enough should sleep between its draws rather than spin.
+     */
+    @Test
+    public void testMoveForwardSleepsBetweenLostRaces() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        // Mock battery
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(100f)
+        ;
+        Mockito
+            .doThrow(new InsufficientChargeException())
+            .doThrow(new InsufficientChargeException())
+            .doThrow(new InsufficientChargeException())
+            .doNothing()
+            .when(cell).use(Matchers.anyDouble())
+        ;
+        
+        // Mock land sensor and time source
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        TimeSource timeSource = Mockito.mock(TimeSource.class);
+        
+        // Then, create robot and run assertions
+        Robot robot = new Robot(1, cell, sensor, timeSource);
+        robot.land(new Coordinates(0, 0));
+        robot.moveForward();
+        
+        Mockito.verify(cell, Mockito.times(4)).use(1.);
+        Mockito.verify(timeSource, Mockito.times(3)).sleep(1);
+        assertEquals(1, robot.getYposition());
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#moveForward()}.
+     * 
+     * A move needing more energy than the battery can ever hold should fail
+     * instead of waiting forever.
+     */
+    @Test(expected=InsufficientChargeException.class)
+    public void testMoveForwardUnreachableCharge() throws UnlandedRobotException, InsufficientChargeException, InterruptedException
+    {
+        // Mock battery
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(0f)
+        ;
+        Mockito
+            .when(cell.timeToSufficientCharge(Matchers.anyDouble()))
+            .thenReturn(Long.MAX_VALUE)
+        ;
+        
+        // Mock land sensor
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        
+        // Then, create robot and run assertions
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(0, 0));
+        robot.moveForward();
+    }
 }
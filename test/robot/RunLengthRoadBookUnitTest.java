@@ -0,0 +1,86 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RunLengthRoadBookUnitTest
+{
+    /**
+     * Unit test for {@link robot.RunLengthRoadBook#append(robot.Instruction, int)}.
+     * 
+     * Consecutive identical instructions should be merged into one run.
+     */
+    @Test
+    public void testAppendMergesRuns()
+    {
+        // Initialize vars
+        RunLengthRoadBook book = new RunLengthRoadBook(Arrays.asList(
+            Instruction.FORWARD, Instruction.FORWARD, Instruction.TURNRIGHT, Instruction.FORWARD
+        ));
+        book.append(Instruction.FORWARD, 5);
+        
+        // Run assertions
+        assertEquals(3, book.runs());
+        assertEquals(9, book.size());
+        assertEquals(Instruction.FORWARD, book.getInstruction(0));
+        assertEquals(2, book.getCount(0));
+        assertEquals(Instruction.TURNRIGHT, book.getInstruction(1));
+        assertEquals(1, book.getCount(1));
+        assertEquals(6, book.getCount(2));
+    }
+    
+    /**
+     * Unit test for {@link robot.RunLengthRoadBook#next()}.
+     * 
+     * The decoded instructions should be the ones appended, in order.
+     */
+    @Test
+    public void testNext()
+    {
+        // Initialize vars
+        List<Instruction> instructions = Arrays.asList(
+            Instruction.TURNLEFT, Instruction.FORWARD, Instruction.FORWARD, Instruction.BACKWARD, Instruction.TURNLEFT
+        );
+        RunLengthRoadBook book = new RunLengthRoadBook(instructions);
+        List<Instruction> read = new ArrayList<>();
+        
+        // Run assertions
+        while(book.hasInstruction())
+        {
+            read.add(book.next());
+        }
+        
+        assertEquals(instructions, read);
+        
+        book.rewind();
+        
+        assertEquals(Instruction.TURNLEFT, book.next());
+    }
+    
+    /**
+     * Unit test for {@link robot.RunLengthRoadBook#skipRepeats(robot.Instruction)}.
+     * 
+     * The rest of the current run should be skipped at once, and only if it
+     * repeats the given instruction.
+     */
+    @Test
+    public void testSkipRepeats()
+    {
+        // Initialize vars
+        RunLengthRoadBook book = new RunLengthRoadBook();
+        book.append(Instruction.FORWARD, 1000);
+        book.append(Instruction.TURNRIGHT, 1);
+        
+        // Run assertions
+        assertEquals(Instruction.FORWARD, book.next());
+        assertEquals(0, book.skipRepeats(Instruction.BACKWARD));
+        assertEquals(999, book.skipRepeats(Instruction.FORWARD));
+        assertEquals(0, book.skipRepeats(Instruction.FORWARD));
+        assertEquals(Instruction.TURNRIGHT, book.next());
+        assertFalse(book.hasInstruction());
+    }
+}
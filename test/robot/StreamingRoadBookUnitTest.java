@@ -0,0 +1,216 @@
+package robot;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class StreamingRoadBookUnitTest
+{
+    /**
+     * Unit test for {@link robot.Robot#letsGo()}.
+     * 
+     * A robot should follow a road book while a planner is still feeding it
+     * through a small buffer.
+     */
+    @Test(timeout = 10000)
+    public void testFollowWhileProducing() throws Exception
+    {
+        // Initialize vars
+        Battery cell = Mockito.mock(Battery.class);
+        Mockito
+            .when(cell.getChargeLevel())
+            .thenReturn(Float.MAX_VALUE)
+        ;
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        StreamingRoadBook book = new StreamingRoadBook(2);
+        Thread planner = new Thread(() ->
+        {
+            try
+            {
+                // Squares of growing size, then one step north
+                for(int leg = 0; leg < 10000; leg++)
+                {
+                    for(int side = 0; side < 4; side++)
+                    {
+                        book.put(Instruction.FORWARD, 1 + leg % 7);
+                        book.put(Instruction.TURNRIGHT);
+                    }
+                }
+                
+                book.put(new RoadBook(Arrays.asList(Instruction.FORWARD)));
+            }
+            catch(InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                book.close();
+            }
+        });
+        
+        Robot robot = new Robot(cell, sensor);
+        robot.land(new Coordinates(0, 0));
+        robot.setRoadBook(book);
+        
+        // Run assertions
+        planner.start();
+        robot.letsGo();
+        planner.join();
+        
+        long expected = 1;
+        
+        for(int leg = 0; leg < 10000; leg++)
+        {
+            expected += 4 * (1 + leg % 7) + 4;
+        }
+        
+        assertEquals(expected, robot.getExecutedInstructions());
+        assertEquals(0, robot.getXposition());
+        assertEquals(1, robot.getYposition());
+        assertEquals(Direction.NORTH, robot.getDirection());
+    }
+    
+    /**
+     * Unit test for {@link robot.StreamingRoadBook#skipRepeats(robot.Instruction)}.
+     * 
+     * Buffered runs should be merged or skipped at once, and the stream
+     * should end once closed.
+     */
+    @Test
+    public void testSkipRepeatsAndClose() throws InterruptedException
+    {
+        // Initialize vars
+        StreamingRoadBook book = new StreamingRoadBook(4);
+        book.put(Instruction.FORWARD, 3);
+        book.put(Instruction.FORWARD, 2);
+        book.put(Instruction.TURNLEFT);
+        book.close();
+        
+        // Run assertions
+        assertTrue(book.hasInstruction());
+        assertEquals(Instruction.FORWARD, book.next());
+        assertEquals(0, book.skipRepeats(Instruction.BACKWARD));
+        assertEquals(4, book.skipRepeats(Instruction.FORWARD));
+        assertEquals(Instruction.TURNLEFT, book.next());
+        assertFalse(book.hasInstruction());
+    }
+    
+    /**
+     * Unit test for {@link robot.StreamingRoadBook#put(robot.Instruction, int)}.
+     * 
+     * Nothing can be put once the stream is closed.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPutAfterClose() throws InterruptedException
+    {
+        // Initialize vars
+        StreamingRoadBook book = new StreamingRoadBook();
+        book.close();
+        
+        // Run assertions
+        book.put(Instruction.FORWARD);
+    }
+    
+    /**
+     * Unit test for {@link robot.Robot#letsGo()}.
+     * 
+     * A robot interrupted while waiting for the next instruction should stop
+     * with an {@link InterruptedException} rather than as if the road book
+     * were over.
+     */
+    @Test
+    public void testLetsGoInterrupted() throws Exception
+    {
+        // Initialize vars
+        Robot robot = new Robot();
+        robot.land(new Coordinates(0, 0));
+        StreamingRoadBook book = new StreamingRoadBook();
+        book.put(Instruction.TURNRIGHT);
+        robot.setRoadBook(book);
+        Throwable[] thrown = new Throwable[1];
+        Thread driver = new Thread(() ->
+        {
+            try
+            {
+                robot.letsGo();
+            }
+            catch(Exception ex)
+            {
+                thrown[0] = ex;
+            }
+        });
+        
+        // Run assertions
+        driver.start();
+        
+        while(Direction.EAST != robot.getDirection() || driver.getState() != Thread.State.WAITING)
+        {
+            Thread.sleep(1);
+        }
+        
+        driver.interrupt();
+        driver.join();
+        
+        assertTrue(thrown[0] instanceof InterruptedException);
+        assertEquals(1, robot.getExecutedInstructions());
+    }
+    
+    /**
+     * Unit test for {@link robot.StreamingRoadBook#hasInstruction()}.
+     * 
+     * A consumer waiting on the only worker of a fork-join pool should let
+     * the pool run the producer on a spare worker.
+     */
+    @Test
+    public void testWaitOnForkJoinPool() throws Exception
+    {
+        // Initialize vars
+        ForkJoinPool pool = new ForkJoinPool(1);
+        StreamingRoadBook book = new StreamingRoadBook();
+        
+        // Run assertions
+        try
+        {
+            Future<Integer> consumer = pool.submit(() ->
+            {
+                int count = 0;
+                
+                while(book.hasInstruction())
+                {
+                    book.next();
+                    count++;
+                }
+                
+                return count;
+            });
+            
+            while(pool.getActiveThreadCount() == 0)
+            {
+                Thread.sleep(1);
+            }
+            
+            pool.submit(() ->
+            {
+                book.put(Instruction.FORWARD, 3);
+                book.close();
+                
+                return null;
+            });
+            
+            assertEquals(3, (int) consumer.get(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+}
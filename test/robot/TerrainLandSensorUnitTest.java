@@ -0,0 +1,113 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TerrainLandSensorUnitTest
+{
+    /**
+     * Unit test for {@link robot.TerrainLandSensor#getPointToPointEnergyCoefficient(robot.Coordinates, robot.Coordinates)}.
+     * 
+     * Two sensors built on the same seed should give the same coefficients,
+     * whatever the order of the lookups.
+     */
+    @Test
+    public void testCoefficientsAreReproducible()
+    {
+        // Initialize vars
+        TerrainLandSensor sensor1 = new TerrainLandSensor(42);
+        TerrainLandSensor sensor2 = new TerrainLandSensor(42);
+        
+        // Run assertions
+        for(int x = 300; x >= -300; x -= 7)
+        {
+            for(int y = -300; y <= 300; y += 11)
+            {
+                Coordinates c1 = new Coordinates(x, y);
+                Coordinates c2 = new Coordinates(x + 1, y);
+                
+                assertEquals(
+                    sensor1.getPointToPointEnergyCoefficient(c1, c2),
+                    sensor2.getPointToPointEnergyCoefficient(c1, c2),
+                    0
+                );
+            }
+        }
+        
+        for(int x = -300; x <= 300; x += 7)
+        {
+            for(int y = 300; y >= -300; y -= 11)
+            {
+                assertEquals(sensor2.computeCellCoefficient(x, y), sensor1.getCellCoefficient(x, y), 0);
+                assertEquals(sensor1.computeCellCoefficient(x, y), sensor2.getCellCoefficient(x, y), 0);
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.TerrainLandSensor#getPointToPointEnergyCoefficient(robot.Coordinates, robot.Coordinates)}.
+     * 
+     * The coefficients should be finite, at least 2 like the random sensor
+     * ones, and never exceed the maximum coefficient.
+     */
+    @Test
+    public void testCoefficientsAreBounded()
+    {
+        // Initialize vars
+        TerrainLandSensor sensor = new TerrainLandSensor(7, 10);
+        
+        // Run assertions
+        for(int x = -100; x < 100; x++)
+        {
+            for(int y = -100; y < 100; y++)
+            {
+                double coefficient = sensor.getPointToPointEnergyCoefficient(new Coordinates(x, y), new Coordinates(x, y + 1));
+                
+                assertTrue(coefficient >= 2);
+                assertTrue(coefficient <= 10);
+            }
+        }
+    }
+    
+    /**
+     * Unit test for {@link robot.TerrainLandSensor#getPointToPointEnergyCoefficient(robot.Coordinates, robot.Coordinates)}.
+     * 
+     * As for the random sensor, the energy coefficient between two equal
+     * points can't be computed.
+     */
+    @Test
+    public void testPointToPointEnergyCoefficientEquals()
+    {
+        // Initialize vars
+        TerrainLandSensor sensor = new TerrainLandSensor(1);
+        Coordinates coordinates = new Coordinates(5, 5);
+        
+        // Run assertions
+        assertTrue(Double.isNaN(sensor.getPointToPointEnergyCoefficient(coordinates, coordinates)));
+    }
+    
+    /**
+     * Unit test for {@link robot.TerrainLandSensor#getCellCoefficient(int, int)}.
+     * 
+     * Different seeds should give different terrains.
+     */
+    @Test
+    public void testSeedsGiveDifferentTerrains()
+    {
+        // Initialize vars
+        TerrainLandSensor sensor1 = new TerrainLandSensor(1);
+        TerrainLandSensor sensor2 = new TerrainLandSensor(2);
+        int differences = 0;
+        
+        // Run assertions
+        for(int x = 0; x < 100; x++)
+        {
+            if(sensor1.getCellCoefficient(x, 0) != sensor2.getCellCoefficient(x, 0))
+            {
+                differences++;
+            }
+        }
+        
+        assertTrue(differences > 90);
+    }
+}
@@ -0,0 +1,110 @@
+package robot;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.mockito.Mockito;
+
+public class VirtualTimeSourceUnitTest
+{
+    /**
+     * Unit test for {@link robot.VirtualTimeSource#run()}.
+     * 
+     * Scheduled tasks should run in time order, the time jumping to each of
+     * them.
+     */
+    @Test
+    public void testRun()
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        List<Long> times = new ArrayList<>();
+        
+        // Run assertions
+        clock.schedule(() -> times.add(clock.currentTimeMillis()), 3000);
+        clock.schedule(() ->
+        {
+            times.add(clock.currentTimeMillis());
+            clock.schedule(() -> times.add(clock.currentTimeMillis()), 500);
+        }, 1000);
+        clock.schedule(() -> times.add(clock.currentTimeMillis()), 1000);
+        
+        assertEquals(3000, clock.run());
+        assertEquals(Arrays.asList(1000L, 1000L, 1500L, 3000L), times);
+        assertEquals(0, clock.pendingTasks());
+    }
+    
+    /**
+     * Unit test for {@link robot.VirtualTimeSource#sleep(long)}.
+     * 
+     * A robot waiting for its battery on a virtual time source shouldn't
+     * really sleep, but should find its battery charged as in wall time.
+     */
+    @Test
+    public void testRobotWaitsForBatteryInVirtualTime() throws Exception
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        Battery cell = new Battery(clock);
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        Robot robot = new Robot(60, cell, sensor, clock);
+        robot.land(new Coordinates(0, 0));
+        long start = System.nanoTime();
+        
+        // Run assertions
+        robot.moveForward();
+        
+        assertEquals(0, clock.currentTimeMillis());
+        assertEquals(51f, cell.getChargeLevel(), 0.001);
+        
+        robot.moveForward();
+        
+        assertEquals(2000, clock.currentTimeMillis());
+        assertEquals(2000, robot.getChargeWaitTime());
+        assertEquals(3.81f, cell.getChargeLevel(), 0.001);
+        assertEquals(2, robot.getYposition());
+        assertTrue(System.nanoTime() - start < 1000000000L);
+    }
+    
+    /**
+     * Unit test for {@link robot.FleetExecutor#simulate(robot.Fleet, robot.VirtualTimeSource)}.
+     */
+    @Test
+    public void testSimulateFleet() throws UnlandedRobotException
+    {
+        // Initialize vars
+        VirtualTimeSource clock = new VirtualTimeSource();
+        LandSensor sensor = Mockito.mock(LandSensor.class);
+        Mockito
+            .when(sensor.getPointToPointEnergyCoefficient(Mockito.any(Coordinates.class), Mockito.any(Coordinates.class)))
+            .thenReturn(1.)
+        ;
+        Fleet fleet = new Fleet();
+        
+        for(int i = 0; i < 10; i++)
+        {
+            Robot robot = new Robot(60, new Battery(clock), sensor, clock);
+            robot.land(new Coordinates(i, 0));
+            fleet.add(robot, new RoadBook(Arrays.asList(Instruction.FORWARD, Instruction.FORWARD, Instruction.FORWARD)));
+        }
+        
+        // Run assertions
+        FleetReport report = FleetExecutor.simulate(fleet, clock);
+        
+        assertEquals(0, report.getFailedRobots());
+        assertEquals(30, report.getExecutedInstructions());
+        assertEquals(1800, report.getConsumedEnergy(), 0.001);
+        
+        for(Robot robot : fleet.getRobots())
+        {
+            assertEquals(3, robot.getYposition());
+        }
+    }
+}